@@ -1,20 +1,8 @@
-import java.io.BufferedReader;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;   
-import java.util.Arrays;
-import java.util.Deque;
-import java.util.HashSet;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Scanner;
-import java.util.TreeSet;
 
-
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Provides an implementation of the WordLadderGame interface. 
@@ -34,9 +22,24 @@ public class Doublets implements WordLadderGame {
    // ARE TreeSet (a red-black tree) OR HashSet (a closed addressed hash      //
    // table with chaining).
    /////////////////////////////////////////////////////////////////////////////
-   TreeSet<String> lexicon;
+   //
+   // The lexicon is a LadderIndex, which is immutable and may be shared by
+   // many Doublets instances and threads. A Doublets instance itself holds
+   // the caller's choice of search strategy and is meant for one thread.
+   LadderIndex lexicon;
+   
+   // The strategy used by getMinLadder.
+   SearchMode searchMode = SearchMode.BREADTH_FIRST;
+   
+   // The cache consulted by getMinLadder, or null for none. Like lexicon,
+   // it may be shared.
+   LadderCache cache;
    
-   List<String> emptyLadder = new ArrayList<>();
+   // The number of words expanded by the most recent call to getMinLadder.
+   int expandedCount;
+   
+   // Checks sequences against lexicon for isWordLadder.
+   LadderValidator validator;
    
    /**
     * Instantiates a new instance of Doublets with the lexicon populated with
@@ -49,23 +52,25 @@ public class Doublets implements WordLadderGame {
          //////////////////////////////////////
          // INSTANTIATE lexicon OBJECT HERE  //
          //////////////////////////////////////
-         lexicon = new TreeSet<String>();
-         Scanner s =
-            new Scanner(new BufferedReader(new InputStreamReader(in)));
-         while (s.hasNext()) {
-            String str = s.next();
-            /////////////////////////////////////////////////////////////
-            // INSERT CODE HERE TO APPROPRIATELY STORE str IN lexicon. //
-            /////////////////////////////////////////////////////////////
-            lexicon.add(str.toLowerCase());
-            s.nextLine();
-         }
-         in.close();
+         lexicon = new LadderIndex(in);
       }
       catch (java.io.IOException e) {
          System.err.println("Error reading from InputStream.");
          System.exit(1);
       }
+      validator = new LadderValidator(lexicon);
+   }
+   
+   /**
+    * Instantiates a new instance of Doublets that uses the given lexicon.
+    * The lexicon can be shared with other Doublets instances, including ones
+    * used by other threads.
+    *
+    * @param  lexicon the indexed word list to use
+    */
+   public Doublets(LadderIndex lexicon) {
+      this.lexicon = lexicon;
+      validator = new LadderValidator(lexicon);
    }
 
 
@@ -91,17 +96,41 @@ public class Doublets implements WordLadderGame {
          return -1;
       }
       
-      char[] s1array = str1.toCharArray();
-      char[] s2array = str2.toCharArray();
       int distance = 0;
-      for (int i = 0; i <= str1.length() - 1; i++) {
-         if (s1array[i] != s2array[i]) {
+      for (int i = 0; i < str1.length(); i++) {
+         if (str1.charAt(i) != str2.charAt(i)) {
             distance++;
          }
       }
       return distance;
    }
    
+   /**
+    * Checks whether two strings of equal length differ in at most k
+    * positions. The comparison stops as soon as more than k differences have
+    * been seen, so it is cheaper than computing the full Hamming distance
+    * when only a bound matters, and it allocates nothing.
+    *
+    * @param  a the first string
+    * @param  b the second string
+    * @param  k the largest Hamming distance accepted
+    * @return   true if a and b have the same length and a Hamming distance
+    *               of at most k, false otherwise
+    */
+   public boolean isWithinDistance(String a, String b, int k) {
+      if (a.length() != b.length()) {
+         return false;
+      }
+      
+      int distance = 0;
+      for (int i = 0; i < a.length(); i++) {
+         if (a.charAt(i) != b.charAt(i) && ++distance > k) {
+            return false;
+         }
+      }
+      return true;
+   }
+   
    /**
    * Returns a minimum-length word ladder from start to end. If multiple
    * minimum-length word ladders exist, no guarantee is made regarding which
@@ -115,51 +144,119 @@ public class Doublets implements WordLadderGame {
    * @return        a minimum length word ladder from start to end
    */
    public List<String> getMinLadder(String start, String end) {
-      
-      List<String> ladder = new ArrayList<String>();
-      
-      if (start.equals(end)) {
-         ladder.add(start);
-         return ladder;
+      if (cache != null) {
+         List<String> ladder = cache.get(start, end);
+         if (ladder != null) {
+            expandedCount = 0;
+            return ladder;
+         }
       }
-      else if (start.length() != end.length()) {
-         return emptyLadder;
+      
+      List<String> ladder = lexicon.getMinLadder(start, end, searchMode,
+         count -> expandedCount = count);
+      if (cache != null && ladder.size() > 1) {
+         cache.put(start, end, ladder);
       }
-      else if (!isWord(start) || !isWord(end)) {
-         return emptyLadder;
+      return ladder;
+   }
+   
+   /**
+    * Returns a minimum-length edit ladder from start to end. An edit ladder
+    * may also change a word by inserting or deleting a single letter, so
+    * start and end need not have the same length. If no edit ladder exists,
+    * this method returns an empty list. The search mode and the ladder cache
+    * apply only to getMinLadder.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @return       a minimum length edit ladder from start to end
+    */
+   public List<String> getMinEditLadder(String start, String end) {
+      return lexicon.getMinEditLadder(start, end);
+   }
+   
+   /**
+    * Returns every minimum-length word ladder from start to end, as the
+    * shortest path DAG between them. The number of ladders is available
+    * without listing them, and iterating the DAG lists them one at a time.
+    * If no word ladder exists, the DAG is empty.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @return       the shortest path DAG from start to end
+    */
+   public LadderDag getAllMinLadders(String start, String end) {
+      return lexicon.getAllMinLadders(start, end);
+   }
+   
+   /**
+    * Returns a minimum-length word ladder from start to each of the given end
+    * words, in the order the end words are given. One breadth-first search
+    * from start answers every end word, and ladders are built lazily as the
+    * returned stream is consumed. The ladder cache is not consulted.
+    *
+    * @param  start the starting word shared by every ladder
+    * @param  ends  the ending words
+    * @return       a stream of minimum length word ladders, one per end word
+    */
+   public Stream<List<String>> getMinLadders(String start, Stream<String> ends) {
+      return lexicon.getMinLadders(start, ends);
+   }
+   
+   /**
+    * Puts the given cache in front of getMinLadder. Ladders found by later
+    * searches are added to it, and ladders already in it are returned without
+    * searching. Any search strategy returns a minimum-length ladder, so the
+    * cache is consulted whatever the current search mode.
+    *
+    * @param  ladderCache the cache to use, or null to stop using one
+    */
+   public void setLadderCache(LadderCache ladderCache) {
+      cache = ladderCache;
+   }
+   
+   /**
+    * Returns the sizes of the connected components among the words of the
+    * given length, largest first. A ladder exists between two words exactly
+    * when they are in the same component.
+    *
+    * @param  length the word length
+    * @return        the component sizes, in decreasing order
+    */
+   public int[] getComponentSizes(int length) {
+      return lexicon.getComponentSizes(length);
+   }
+   
+   /**
+    * Selects the search strategy used by subsequent calls to getMinLadder.
+    *
+    * @param  mode the search strategy to use
+    * @throws IllegalArgumentException if mode is null
+    */
+   public void setSearchMode(SearchMode mode) {
+      if (mode == null) {
+         throw new IllegalArgumentException("Search mode cannot be null.");
       }
-    
-      Deque<Node> q = new ArrayDeque<>();
-      TreeSet<String> one = new TreeSet<>();
-    
-      one.add(start);
-      q.addLast(new Node(start, null));
-      
-      while (!q.isEmpty()) {
-       
-         Node n = q.removeFirst();
-         String position = n.position;
-          
-         for (String neighbor1 : getNeighbors(position)) {
-         
-            if (!one.contains(neighbor1)) {
-               one.add(neighbor1);
-               q.addLast(new Node(neighbor1, n));
-            }
-            
-            if (neighbor1.equals(end)) {
-             
-               Node m = q.removeLast();
-               
-               while (m != null) {
-                  ladder.add(0, m.position);
-                  m = m.predecessor;
-               }
-               return ladder;
-            }
-         }
-      }      
-      return emptyLadder;
+      searchMode = mode;
+   }
+   
+   /**
+    * Returns the search strategy currently used by getMinLadder.
+    *
+    * @return the current search strategy
+    */
+   public SearchMode getSearchMode() {
+      return searchMode;
+   }
+   
+   /**
+    * Returns the number of words whose neighbors were expanded by the most
+    * recent call to getMinLadder.
+    *
+    * @return the number of words expanded by the last search
+    */
+   public int getExpandedCount() {
+      return expandedCount;
    }
    
    /**
@@ -170,18 +267,19 @@ public class Doublets implements WordLadderGame {
     * @return      the neighbors of the given word
     */
    public List<String> getNeighbors(String word) {
-      List<String> neighborList = new ArrayList<>();
-      Iterator<String> lexIterator = lexicon.iterator();
-      String lexWord = lexIterator.next();
-      
-      while (lexIterator.hasNext()) {
-      
-         if (getHammingDistance(word, lexWord) == 1) {
-            neighborList.add(lexWord);
-         }
-         lexWord = lexIterator.next();
-      }
-      return neighborList;
+      return lexicon.getNeighbors(word);
+   }
+
+
+   /**
+    * Returns all the words one letter substitution, insertion or deletion
+    * away from the given word.
+    *
+    * @param  word the given word
+    * @return      the edit neighbors of the given word
+    */
+   public List<String> getEditNeighbors(String word) {
+      return lexicon.getEditNeighbors(word);
    }
 
 
@@ -191,7 +289,7 @@ public class Doublets implements WordLadderGame {
     * @return number of words in the lexicon
     */
    public int getWordCount() {
-      return lexicon.size();
+      return lexicon.getWordCount();
    }
 
 
@@ -202,7 +300,7 @@ public class Doublets implements WordLadderGame {
     * @return     true if str is a word, false otherwise
     */
    public boolean isWord(String str) {
-      return lexicon.contains(str);
+      return lexicon.isWord(str);
    }
 
 
@@ -214,35 +312,6 @@ public class Doublets implements WordLadderGame {
     *                       false otherwise
     */
    public boolean isWordLadder(List<String> sequence) {
-      if (sequence.size() == 0) {
-         return false;
-      }
-      for (int i = 0; i <= (sequence.size() - 2); i++) {
-         String word = sequence.get(i);
-         String check = sequence.get(i + 1);
-         if (getHammingDistance(word, check) != 1) {
-            return false;
-         }
-         if (word.length() != check.length()) {
-            return false;
-         }
-         if ((!isWord(word)) || (!isWord(check))) {
-            return false;
-         }
-         
-      }
-      
-      return true;
-   }
-   
-   private class Node {
-      String position;
-      Node predecessor;
-   
-      public Node(String p, Node pred) {
-         position = p;
-         predecessor = pred;
-      }
+      return validator.check(sequence) == LadderValidator.Verdict.VALID;
    }
 }
-
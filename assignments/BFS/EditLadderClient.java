@@ -0,0 +1,70 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+/**
+ * EditLadderClient.java
+ * Finds edit ladders, which may also insert or delete a letter, between words
+ * of different lengths, and times edit neighbor lookups for words and for
+ * strings that are not words.
+ *
+ * Usage: java EditLadderClient [wordfile]
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class EditLadderClient {
+
+   /** Edit ladders to search for. */
+   private static final String[][] PAIRS = {
+      {"cat", "horse"}, {"a", "zebra"}, {"head", "tail"}, {"hand", "finger"},
+      {"river", "ocean"}, {"ape", "human"}, {"stone", "bread"},
+   };
+
+   /** Strings to look up the edit neighbors of, words and not. */
+   private static final String[] QUERIES = {
+      "cat", "ear", "stone", "planet", "strange", "xqz", "catz", "stonee",
+   };
+
+   /** Number of times each neighbor lookup is repeated when timed. */
+   private static final int REPEATS = 1000;
+
+   /** Drives execution. */
+   public static void main(String[] args) throws FileNotFoundException {
+      String fileName = args.length > 0 ? args[0] : "../DFS/wordfiles/OWL.txt";
+      Doublets doublets = new Doublets(new FileInputStream(new File(fileName)));
+
+      double start = System.nanoTime();
+      doublets.getEditNeighbors("a");
+      double elapsedTime = (System.nanoTime() - start) / 1_000_000d;
+      System.out.print("build ms\t");
+      System.out.printf("%4.3f\n", elapsedTime);
+
+      System.out.println("query\tneighbors\tus/lookup");
+      for (String query : QUERIES) {
+         // warm up before collecting timing data
+         for (int i = 0; i < REPEATS; i++) {
+            doublets.getEditNeighbors(query);
+         }
+         start = System.nanoTime();
+         for (int i = 0; i < REPEATS; i++) {
+            doublets.getEditNeighbors(query);
+         }
+         elapsedTime = (System.nanoTime() - start) / 1_000d / REPEATS;
+         System.out.print(query + "\t" + doublets.getEditNeighbors(query).size() + "\t");
+         System.out.printf("%4.3f\n", elapsedTime);
+      }
+
+      System.out.println();
+      System.out.println("start\tend\tms\tladder");
+      for (String[] pair : PAIRS) {
+         start = System.nanoTime();
+         List<String> ladder = doublets.getMinEditLadder(pair[0], pair[1]);
+         elapsedTime = (System.nanoTime() - start) / 1_000_000d;
+         System.out.print(pair[0] + "\t" + pair[1] + "\t");
+         System.out.printf("%4.3f", elapsedTime);
+         System.out.println("\t" + ladder);
+      }
+   }
+}
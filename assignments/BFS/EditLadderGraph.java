@@ -0,0 +1,486 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The one-edit graph over every word of a LadderIndex, where two words are
+ * neighbors if one can be changed into the other by substituting, inserting
+ * or deleting a single letter.
+ *
+ * Substitutions are read from the CSR edges of each length's LadderGraph.
+ * Insertions and deletions are found through a deletion-neighborhood index,
+ * in the manner of SymSpell: every word is filed once under each distinct
+ * string made by deleting one of its letters, so the words one insertion
+ * away from a string are exactly those filed under that string. The index is
+ * a single sorted array of longs, each holding the hash of a deletion in its
+ * high half and the id of the word it came from in its low half, so a lookup
+ * is one binary search over primitives followed by a letter-by-letter check
+ * of the few candidates sharing the hash. No word is ever compared against
+ * the whole lexicon.
+ *
+ * The index is used once, when the graph is built, to find the insertion
+ * edges of every word; the deletion edges are the same edges reversed. Both
+ * are stored in CSR form alongside the substitution edges, so a search
+ * works entirely with ints.
+ *
+ * Words are numbered by length and then alphabetically, so the words of
+ * length L have the ids base[L] through base[L + 1] - 1, in the order of the
+ * ids of the LadderGraph of that length.
+ *
+ * An EditLadderGraph is immutable once constructed and may be shared between
+ * threads.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class EditLadderGraph {
+
+   // graphs[L] is the partition holding the words of length L, or null if
+   // there are no words of that length.
+   private final LadderGraph[] graphs;
+
+   // base[L] is the id of the first word of length L. Lengths without words
+   // share the base of the next length, and base has one more entry than
+   // graphs so base[L + 1] always exists.
+   private final int[] base;
+
+   // The number of words in the graph.
+   private final int size;
+
+   // The deletion-neighborhood index: one entry per word and distinct
+   // one-letter deletion of it, holding the deletion's String hash in the
+   // high 32 bits and the word's id in the low 32 bits, in sorted order.
+   private final long[] deletions;
+
+   // The words one insertion longer than word u are upTargets[upOffsets[u]]
+   // through upTargets[upOffsets[u + 1] - 1], and likewise for the words one
+   // deletion shorter in downOffsets and downTargets.
+   private final int[] upOffsets;
+   private final int[] upTargets;
+   private final int[] downOffsets;
+   private final int[] downTargets;
+
+   // component[u] is the label of the connected component holding word u.
+   private final int[] component;
+
+   /**
+    * Builds the graph over the given partitions.
+    *
+    * @param  partitions the partition of every word length, in any order
+    */
+   public EditLadderGraph(List<LadderGraph> partitions) {
+      int maxLength = 0;
+      for (LadderGraph graph : partitions) {
+         maxLength = Math.max(maxLength, graph.length());
+      }
+      graphs = new LadderGraph[maxLength + 1];
+      for (LadderGraph graph : partitions) {
+         if (graph.size() > 0) {
+            graphs[graph.length()] = graph;
+         }
+      }
+      base = new int[maxLength + 2];
+      for (int length = 0; length <= maxLength; length++) {
+         int count = graphs[length] == null ? 0 : graphs[length].size();
+         base[length + 1] = base[length] + count;
+      }
+      size = base[maxLength + 1];
+
+      deletions = buildDeletions();
+
+      // Each word's insertion edges, found through the index.
+      upOffsets = new int[size + 1];
+      int[] up = new int[Math.max(16, size)];
+      int count = 0;
+      for (int length = 0; length < maxLength; length++) {
+         LadderGraph graph = graphs[length];
+         if (graph == null) {
+            for (int u = base[length]; u < base[length + 1]; u++) {
+               upOffsets[u + 1] = count;
+            }
+            continue;
+         }
+         for (int id = 0; id < graph.size; id++) {
+            int from = id * length;
+            int hash = 0;
+            for (int i = 0; i < length; i++) {
+               hash = 31 * hash + graph.letters[from + i];
+            }
+            int found = longer(graph.letters, from, length, hash, up, count);
+            while (found < 0) {
+               up = Arrays.copyOf(up, up.length * 2);
+               found = longer(graph.letters, from, length, hash, up, count);
+            }
+            count += found;
+            upOffsets[base[length] + id + 1] = count;
+         }
+      }
+      for (int u = base[maxLength]; u < size; u++) {
+         upOffsets[u + 1] = count;
+      }
+      upTargets = Arrays.copyOf(up, count);
+
+      // Each word's deletion edges are its incoming insertion edges.
+      downOffsets = new int[size + 1];
+      for (int v : upTargets) {
+         downOffsets[v + 1]++;
+      }
+      for (int u = 0; u < size; u++) {
+         downOffsets[u + 1] += downOffsets[u];
+      }
+      downTargets = new int[upTargets.length];
+      int[] next = Arrays.copyOf(downOffsets, size);
+      for (int u = 0; u < size; u++) {
+         for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++) {
+            downTargets[next[upTargets[e]]++] = u;
+         }
+      }
+
+      component = labelComponents();
+   }
+
+   /**
+    * Files every word under each distinct string made by deleting one of its
+    * letters. Deleting any letter of a run of equal letters makes the same
+    * string, so only the first letter of each run is deleted.
+    */
+   private long[] buildDeletions() {
+      int count = 0;
+      for (int length = 1; length < graphs.length; length++) {
+         LadderGraph graph = graphs[length];
+         if (graph == null) {
+            continue;
+         }
+         char[] letters = graph.letters;
+         for (int from = 0; from < letters.length; from += length) {
+            count++;
+            for (int p = 1; p < length; p++) {
+               if (letters[from + p] != letters[from + p - 1]) {
+                  count++;
+               }
+            }
+         }
+      }
+
+      long[] entries = new long[count];
+      int next = 0;
+      for (int length = 1; length < graphs.length; length++) {
+         LadderGraph graph = graphs[length];
+         if (graph == null) {
+            continue;
+         }
+         char[] letters = graph.letters;
+         for (int id = 0; id < graph.size; id++) {
+            int from = id * length;
+            long word = base[length] + id;
+            for (int p = 0; p < length; p++) {
+               if (p > 0 && letters[from + p] == letters[from + p - 1]) {
+                  continue;
+               }
+               int hash = 0;
+               for (int i = 0; i < length; i++) {
+                  if (i != p) {
+                     hash = 31 * hash + letters[from + i];
+                  }
+               }
+               entries[next++] = ((long) hash << 32) | word;
+            }
+         }
+      }
+      Arrays.parallelSort(entries);
+      return entries;
+   }
+
+   /**
+    * Writes the ids of the words one insertion longer than the given letters
+    * to out, starting at out[start], and returns how many there are. Returns
+    * -1 instead if out runs out of room.
+    *
+    * @param  source the letters of the string to look up
+    * @param  from   the index in source of its first letter
+    * @param  length the number of letters in the string
+    * @param  hash   the String hash of the string
+    * @param  out    where to write the ids found
+    * @param  start  the index in out of the first id written
+    * @return        the number of ids written, or -1
+    */
+   private int longer(char[] source, int from, int length, int hash,
+                      int[] out, int start) {
+      if (length + 1 >= graphs.length || graphs[length + 1] == null) {
+         return 0;
+      }
+      LadderGraph graph = graphs[length + 1];
+      long key = (long) hash << 32;
+      int lo = 0;
+      int hi = deletions.length;
+      while (lo < hi) {
+         int mid = (lo + hi) >>> 1;
+         if (deletions[mid] < key) {
+            lo = mid + 1;
+         }
+         else {
+            hi = mid;
+         }
+      }
+
+      int count = 0;
+      int previous = -1;
+      for (int k = lo; k < deletions.length && (deletions[k] >>> 32) == (key >>> 32); k++) {
+         int word = (int) deletions[k];
+         if (word == previous || word < base[length + 1]
+               || word >= base[length + 2]) {
+            continue;
+         }
+         previous = word;
+         if (isDeletion(source, from, length, graph.letters,
+                        (word - base[length + 1]) * (length + 1))) {
+            if (start + count == out.length) {
+               return -1;
+            }
+            out[start + count++] = word;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Returns true if deleting one letter of the length + 1 letters at
+    * longer[at] leaves the length letters at source[from].
+    */
+   private static boolean isDeletion(char[] source, int from, int length,
+                                     char[] longer, int at) {
+      int i = 0;
+      while (i < length && source[from + i] == longer[at + i]) {
+         i++;
+      }
+      for (; i < length; i++) {
+         if (source[from + i] != longer[at + i + 1]) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Labels the connected components of the graph with a breadth-first
+    * search from every word not yet labelled.
+    */
+   private int[] labelComponents() {
+      int[] labels = new int[size];
+      Arrays.fill(labels, -1);
+      int[] queue = new int[size];
+      int count = 0;
+      for (int root = 0; root < size; root++) {
+         if (labels[root] != -1) {
+            continue;
+         }
+         int head = 0;
+         int tail = 0;
+         labels[root] = count;
+         queue[tail++] = root;
+         while (head < tail) {
+            int u = queue[head++];
+            int length = lengthOf(u);
+            LadderGraph graph = graphs[length];
+            int offset = base[length];
+            int id = u - offset;
+            for (int e = graph.offsets[id]; e < graph.offsets[id + 1]; e++) {
+               int v = offset + graph.targets[e];
+               if (labels[v] == -1) {
+                  labels[v] = count;
+                  queue[tail++] = v;
+               }
+            }
+            for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++) {
+               int v = upTargets[e];
+               if (labels[v] == -1) {
+                  labels[v] = count;
+                  queue[tail++] = v;
+               }
+            }
+            for (int e = downOffsets[u]; e < downOffsets[u + 1]; e++) {
+               int v = downTargets[e];
+               if (labels[v] == -1) {
+                  labels[v] = count;
+                  queue[tail++] = v;
+               }
+            }
+         }
+         count++;
+      }
+      return labels;
+   }
+
+   /**
+    * Returns the length of the word with the given id.
+    */
+   private int lengthOf(int id) {
+      int length = graphs.length - 1;
+      while (base[length] > id) {
+         length--;
+      }
+      return length;
+   }
+
+   /**
+    * Returns the number of words in the graph.
+    *
+    * @return the number of words
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the word with the given id.
+    *
+    * @param  id the id of the word
+    * @return    the word
+    */
+   public String word(int id) {
+      int length = lengthOf(id);
+      return graphs[length].word(id - base[length]);
+   }
+
+   /**
+    * Returns the id of the given string, or a negative number if it is not
+    * a word in the graph.
+    *
+    * @param  str the string to look up
+    * @return     the id of str, or a negative number
+    */
+   public int indexOf(String str) {
+      int length = str.length();
+      if (length >= graphs.length || graphs[length] == null) {
+         return -1;
+      }
+      int id = graphs[length].indexOf(str);
+      return id < 0 ? -1 : base[length] + id;
+   }
+
+   /**
+    * Returns true if an edit ladder exists between the two given words.
+    *
+    * @param  a the id of one word
+    * @param  b the id of the other word
+    * @return   true if a and b are in the same connected component
+    */
+   public boolean connected(int a, int b) {
+      return component[a] == component[b];
+   }
+
+   /**
+    * Returns the words one substitution, insertion or deletion away from
+    * str. Words one letter shorter are found by looking up each deletion of
+    * str, and words one letter longer through the deletion-neighborhood
+    * index, so neither compares str against other words of their length. If
+    * str is not a word, its substitutions are found as by
+    * LadderGraph.neighborsOf.
+    *
+    * @param  str the string to find the neighbors of
+    * @return     the neighbors of str, substitutions first, then deletions,
+    *                 then insertions
+    */
+   public List<String> neighborsOf(String str) {
+      int u = indexOf(str);
+      if (u >= 0) {
+         int length = str.length();
+         LadderGraph graph = graphs[length];
+         int id = u - base[length];
+         List<String> neighborList = new ArrayList<>(graph.degree(id)
+            + downOffsets[u + 1] - downOffsets[u] + upOffsets[u + 1] - upOffsets[u]);
+         for (int e = graph.offsets[id]; e < graph.offsets[id + 1]; e++) {
+            neighborList.add(graph.word(graph.targets[e]));
+         }
+         for (int e = downOffsets[u]; e < downOffsets[u + 1]; e++) {
+            neighborList.add(word(downTargets[e]));
+         }
+         for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++) {
+            neighborList.add(word(upTargets[e]));
+         }
+         return neighborList;
+      }
+
+      List<String> neighborList = new ArrayList<>();
+      int length = str.length();
+      if (length < graphs.length && graphs[length] != null) {
+         neighborList.addAll(graphs[length].neighborsOf(str));
+      }
+      for (int p = 0; p < length; p++) {
+         if (p > 0 && str.charAt(p) == str.charAt(p - 1)) {
+            continue;
+         }
+         String shorter = str.substring(0, p) + str.substring(p + 1);
+         if (indexOf(shorter) >= 0) {
+            neighborList.add(shorter);
+         }
+      }
+      int[] found = new int[64];
+      int count = longer(str.toCharArray(), 0, length, str.hashCode(), found, 0);
+      while (count < 0) {
+         found = new int[found.length * 2];
+         count = longer(str.toCharArray(), 0, length, str.hashCode(), found, 0);
+      }
+      for (int i = 0; i < count; i++) {
+         neighborList.add(word(found[i]));
+      }
+      return neighborList;
+   }
+
+   /**
+    * Returns a minimum-length edit ladder from start to end, or an empty list
+    * if no edit ladder exists, searching with the given frontier's buffers.
+    * Each word of an edit ladder is one substitution, insertion or deletion
+    * away from the word before it. The returned list belongs to the caller.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @param  f     the frontier whose buffers the search reuses
+    * @return       a minimum length edit ladder from start to end
+    */
+   List<String> getMinLadder(String start, String end, LadderSearch.Frontier f) {
+      List<String> ladder = new ArrayList<>();
+      int source = indexOf(start);
+      int target = indexOf(end);
+      if (source < 0 || target < 0 || !connected(source, target)) {
+         return ladder;
+      }
+
+      f.reset(size, source);
+      while (f.head < f.tail && !f.visited.get(target)) {
+         int u = f.queue[f.head++];
+         int length = lengthOf(u);
+         LadderGraph graph = graphs[length];
+         int offset = base[length];
+         int id = u - offset;
+         for (int e = graph.offsets[id]; e < graph.offsets[id + 1]; e++) {
+            visit(f, u, offset + graph.targets[e]);
+         }
+         for (int e = downOffsets[u]; e < downOffsets[u + 1]; e++) {
+            visit(f, u, downTargets[e]);
+         }
+         for (int e = upOffsets[u]; e < upOffsets[u + 1]; e++) {
+            visit(f, u, upTargets[e]);
+         }
+      }
+
+      for (int u = target; u != -1; u = f.parent[u]) {
+         ladder.add(word(u));
+      }
+      for (int i = 0, j = ladder.size() - 1; i < j; i++, j--) {
+         ladder.set(i, ladder.set(j, ladder.get(i)));
+      }
+      return ladder;
+   }
+
+   /**
+    * Discovers v from u, queueing it if the frontier has not seen it yet.
+    */
+   private static void visit(LadderSearch.Frontier f, int u, int v) {
+      if (!f.visited.get(v)) {
+         f.visited.set(v);
+         f.parent[v] = u;
+         f.queue[f.tail++] = v;
+      }
+   }
+}
@@ -0,0 +1,122 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * HammingBenchmarkClient.java
+ * Times three ways of deciding whether two words are one letter apart, the
+ * test at the heart of a neighbor scan: the original getHammingDistance that
+ * copies both strings into char arrays, the current getHammingDistance, and
+ * isWithinDistance with k = 1. Each is run over the same random query words
+ * compared against every word of the same length in the word list.
+ *
+ * Usage: java HammingBenchmarkClient [wordfile]
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class HammingBenchmarkClient {
+
+   /** Number of query words compared against the word list per trial. */
+   private static final int QUERIES = 200;
+
+   /** Number of timed trials per method. */
+   private static final int TRIALS = 5;
+
+   /** Drives execution. */
+   public static void main(String[] args) throws FileNotFoundException {
+      String fileName = args.length > 0 ? args[0] : "../DFS/wordfiles/words.txt";
+      Doublets doublets = new Doublets(new FileInputStream(new File(fileName)));
+      List<String> words = new ArrayList<>();
+      Scanner s = new Scanner(new File(fileName));
+      while (s.hasNext()) {
+         words.add(s.next().toLowerCase());
+         s.nextLine();
+      }
+      Map<Integer, List<String>> byLength = new HashMap<>();
+      for (String word : words) {
+         byLength.computeIfAbsent(word.length(), k -> new ArrayList<>()).add(word);
+      }
+      Random rng = new Random(2210);
+      String[] queries = new String[QUERIES];
+      String[][] sameLength = new String[QUERIES][];
+      long perTrial = 0;
+      for (int i = 0; i < QUERIES; i++) {
+         queries[i] = words.get(rng.nextInt(words.size()));
+         sameLength[i] = byLength.get(queries[i].length()).toArray(new String[0]);
+         perTrial += sameLength[i].length;
+      }
+   
+      System.out.println("method\tcomparisons\tmatches\tns/comparison");
+      for (int method = 0; method < 3; method++) {
+         // run each method a few times before collecting timing data
+         for (int i = 0; i < TRIALS; i++) {
+            countNeighbors(doublets, method, queries, sameLength);
+         }
+         double start = System.nanoTime();
+         long matches = 0;
+         for (int i = 0; i < TRIALS; i++) {
+            matches += countNeighbors(doublets, method, queries, sameLength);
+         }
+         double elapsedTime = System.nanoTime() - start;
+         long comparisons = TRIALS * perTrial;
+         System.out.print(NAMES[method] + "\t" + comparisons + "\t" + matches + "\t");
+         System.out.printf("%4.3f\n", elapsedTime / comparisons);
+      }
+   }
+
+   /** Names of the methods, by number. */
+   private static final String[] NAMES =
+      {"original", "getHammingDistance", "isWithinDistance"};
+
+   /**
+    * Counts the words one letter away from each query word, comparing
+    * queries[i] against the words of its length in sameLength[i].
+    */
+   private static long countNeighbors(Doublets doublets, int method,
+                                      String[] queries, String[][] sameLength) {
+      long count = 0;
+      for (int i = 0; i < queries.length; i++) {
+         String query = queries[i];
+         for (String word : sameLength[i]) {
+            boolean match;
+            if (method == 0) {
+               match = originalHammingDistance(query, word) == 1;
+            }
+            else if (method == 1) {
+               match = doublets.getHammingDistance(query, word) == 1;
+            }
+            else {
+               match = doublets.isWithinDistance(query, word, 1)
+                  && !query.equals(word);
+            }
+            if (match) {
+               count++;
+            }
+         }
+      }
+      return count;
+   }
+
+   /** The original getHammingDistance, kept as the baseline. */
+   private static int originalHammingDistance(String str1, String str2) {
+      if (str1.length() != str2.length()) {
+         return -1;
+      }
+      char[] s1array = str1.toCharArray();
+      char[] s2array = str2.toCharArray();
+      int distance = 0;
+      for (int i = 0; i <= str1.length() - 1; i++) {
+         if (s1array[i] != s2array[i]) {
+            distance++;
+         }
+      }
+      return distance;
+   }
+}
@@ -0,0 +1,141 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * LadderAnalytics.java
+ * Computes the eccentricity of every word and the diameter of every word
+ * length's ladder graph, and writes them to CSV files.
+ *
+ * The eccentricity of a word is the length, in steps, of the longest
+ * minimum ladder from it to any word it can reach; the diameter of a word
+ * length is the largest eccentricity among its words. Computing these takes
+ * a breadth-first search from every word. Rather than run them one at a
+ * time, each pass runs 64 of them together over the int graph, keeping one
+ * bit per source in a long for every word, so a single sweep of the edges
+ * advances all 64 searches by one level. Passes are independent and run in
+ * parallel in the common fork-join pool.
+ *
+ * Usage: java LadderAnalytics wordfile words.csv diameters.csv
+ *
+ * words.csv has the columns length,word,component_size,eccentricity and
+ * diameters.csv has the columns length,words,components,diameter.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderAnalytics {
+
+   // The number of sources searched together in one pass.
+   private static final int SOURCES_PER_PASS = 64;
+
+   /** Drives execution. */
+   public static void main(String[] args) throws IOException {
+      if (args.length != 3) {
+         System.err.println("Usage: java LadderAnalytics wordfile words.csv diameters.csv");
+         System.exit(1);
+      }
+      LadderIndex index = new LadderIndex(new FileInputStream(new File(args[0])));
+   
+      try (PrintWriter words = new PrintWriter(args[1]);
+           PrintWriter diameters = new PrintWriter(args[2])) {
+         words.println("length,word,component_size,eccentricity");
+         diameters.println("length,words,components,diameter");
+         for (int length : index.getWordLengths()) {
+            LadderGraph graph = index.partition(length);
+            double start = System.nanoTime();
+            int[] eccentricity = eccentricities(graph);
+            double elapsedTime = (System.nanoTime() - start) / 1_000_000d;
+         
+            int diameter = 0;
+            for (int id = 0; id < graph.size(); id++) {
+               diameter = Math.max(diameter, eccentricity[id]);
+               words.println(length + "," + graph.word(id) + ","
+                  + graph.componentSizes[graph.component[id]] + ","
+                  + eccentricity[id]);
+            }
+            diameters.println(length + "," + graph.size() + ","
+               + graph.componentSizes.length + "," + diameter);
+            System.out.printf("length %d: %d words, diameter %d, %4.3f ms\n",
+               length, graph.size(), diameter, elapsedTime);
+         }
+      }
+   }
+
+   /**
+    * Returns the eccentricity of every word of the given graph, measured
+    * within the word's own connected component.
+    *
+    * @param  graph the graph to analyze
+    * @return       the eccentricity of each word, indexed by id
+    */
+   public static int[] eccentricities(LadderGraph graph) {
+      int[] eccentricity = new int[graph.size()];
+      int passes = (graph.size() + SOURCES_PER_PASS - 1) / SOURCES_PER_PASS;
+      ThreadLocal<long[][]> scratch = ThreadLocal.withInitial(
+         () -> new long[3][graph.size()]);
+      IntStream.range(0, passes).parallel().forEach(
+         pass -> runPass(graph, pass * SOURCES_PER_PASS, eccentricity, scratch.get()));
+      return eccentricity;
+   }
+
+   /**
+    * Runs breadth-first searches from up to 64 consecutive word ids at once,
+    * recording the eccentricity of each source.
+    *
+    * @param  graph        the graph to search
+    * @param  first        the id of the first source
+    * @param  eccentricity where the eccentricity of each source is recorded
+    * @param  buffers      three arrays of graph.size() longs to work in
+    */
+   private static void runPass(LadderGraph graph, int first, int[] eccentricity,
+                               long[][] buffers) {
+      int n = graph.size();
+      int sources = Math.min(SOURCES_PER_PASS, n - first);
+      // Bit j of seen[v] is set once search j has reached word v; bit j of
+      // frontier[v] is set if v is in search j's current level.
+      long[] seen = buffers[0];
+      long[] frontier = buffers[1];
+      long[] next = buffers[2];
+      Arrays.fill(seen, 0L);
+      Arrays.fill(frontier, 0L);
+      Arrays.fill(next, 0L);
+      for (int j = 0; j < sources; j++) {
+         seen[first + j] |= 1L << j;
+         frontier[first + j] |= 1L << j;
+      }
+   
+      int level = 0;
+      boolean active = true;
+      while (active) {
+         level++;
+         for (int v = 0; v < n; v++) {
+            long bits = frontier[v];
+            if (bits == 0) {
+               continue;
+            }
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+               next[graph.targets[e]] |= bits;
+            }
+         }
+      
+         long reached = 0;
+         for (int u = 0; u < n; u++) {
+            long bits = next[u] & ~seen[u];
+            next[u] = 0;
+            frontier[u] = bits;
+            seen[u] |= bits;
+            reached |= bits;
+         }
+         active = reached != 0;
+         while (reached != 0) {
+            int j = Long.numberOfTrailingZeros(reached);
+            eccentricity[first + j] = level;
+            reached &= reached - 1;
+         }
+      }
+   }
+}
@@ -0,0 +1,197 @@
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded cache of minimum-length word ladders.
+ *
+ * A ladder from a to b read backwards is a ladder from b to a of the same
+ * length, so each pair of words is stored once under a key that ignores
+ * direction, and a lookup in the other direction is answered by reversing
+ * the stored ladder. When the cache is full, adding a ladder evicts the
+ * least recently used one or the oldest one, depending on the eviction
+ * policy chosen.
+ *
+ * A LadderCache is thread-safe and can be shared the same way as the
+ * LadderIndex whose ladders it holds.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderCache {
+
+   /**
+    * The policies for choosing which ladder to evict when the cache is full.
+    */
+   public enum Eviction {
+      /** Evict the ladder that was looked up least recently. */
+      LEAST_RECENTLY_USED,
+      /** Evict the ladder that was added first. */
+      FIRST_IN_FIRST_OUT
+   }
+
+   // The maximum number of ladders held.
+   private final int capacity;
+
+   // The cached ladders keyed by word pair, each stored starting from the
+   // alphabetically smaller word of its pair.
+   private final Map<String, String[]> ladders;
+
+   private long hits;
+   private long misses;
+   private long evictions;
+
+   /**
+    * Creates an empty cache.
+    *
+    * @param  capacity the maximum number of ladders to hold
+    * @param  eviction the policy used to make room when the cache is full
+    * @throws IllegalArgumentException if capacity < 1 or eviction is null
+    */
+   public LadderCache(int capacity, Eviction eviction) {
+      if (capacity < 1) {
+         throw new IllegalArgumentException("Capacity must be at least 1.");
+      }
+      if (eviction == null) {
+         throw new IllegalArgumentException("Eviction policy cannot be null.");
+      }
+      this.capacity = capacity;
+      boolean accessOrder = eviction == Eviction.LEAST_RECENTLY_USED;
+      ladders = new LinkedHashMap<String, String[]>(16, 0.75f, accessOrder) {
+         @Override
+         protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+            if (size() > LadderCache.this.capacity) {
+               evictions++;
+               return true;
+            }
+            return false;
+         }
+      };
+   }
+
+   /**
+    * Returns the cached ladder from start to end, or null if there is none.
+    * The returned list belongs to the caller.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @return       the cached ladder, or null
+    */
+   public synchronized List<String> get(String start, String end) {
+      String[] ladder = ladders.get(key(start, end));
+      if (ladder == null) {
+         misses++;
+         return null;
+      }
+      hits++;
+      List<String> result = new ArrayList<>(ladder.length);
+      if (start.compareTo(end) <= 0) {
+         for (int i = 0; i < ladder.length; i++) {
+            result.add(ladder[i]);
+         }
+      }
+      else {
+         for (int i = ladder.length - 1; i >= 0; i--) {
+            result.add(ladder[i]);
+         }
+      }
+      return result;
+   }
+
+   /**
+    * Adds the ladder from start to end to the cache, evicting another ladder
+    * if the cache is full.
+    *
+    * @param  start  the starting word
+    * @param  end    the ending word
+    * @param  ladder a minimum-length ladder from start to end
+    */
+   public synchronized void put(String start, String end, List<String> ladder) {
+      String[] stored = new String[ladder.size()];
+      if (start.compareTo(end) <= 0) {
+         for (int i = 0; i < stored.length; i++) {
+            stored[i] = ladder.get(i);
+         }
+      }
+      else {
+         for (int i = 0; i < stored.length; i++) {
+            stored[i] = ladder.get(stored.length - 1 - i);
+         }
+      }
+      ladders.put(key(start, end), stored);
+   }
+
+   /**
+    * Returns the key shared by the pair (a, b) and the pair (b, a).
+    */
+   private static String key(String a, String b) {
+      return a.compareTo(b) <= 0 ? a + ' ' + b : b + ' ' + a;
+   }
+
+   /**
+    * Returns the number of ladders currently held.
+    *
+    * @return the number of ladders held
+    */
+   public synchronized int size() {
+      return ladders.size();
+   }
+
+   /**
+    * Returns the maximum number of ladders held.
+    *
+    * @return the capacity
+    */
+   public int capacity() {
+      return capacity;
+   }
+
+   /**
+    * Returns the number of lookups answered from the cache.
+    *
+    * @return the hit count
+    */
+   public synchronized long getHitCount() {
+      return hits;
+   }
+
+   /**
+    * Returns the number of lookups not answered from the cache.
+    *
+    * @return the miss count
+    */
+   public synchronized long getMissCount() {
+      return misses;
+   }
+
+   /**
+    * Returns the number of ladders evicted to make room for others.
+    *
+    * @return the eviction count
+    */
+   public synchronized long getEvictionCount() {
+      return evictions;
+   }
+
+   /**
+    * Removes every ladder and resets the counters.
+    */
+   public synchronized void clear() {
+      ladders.clear();
+      hits = 0;
+      misses = 0;
+      evictions = 0;
+   }
+
+   /**
+    * Returns a summary of the cache's size and counters.
+    *
+    * @return a summary of the cache
+    */
+   @Override
+   public synchronized String toString() {
+      return "size=" + ladders.size() + "/" + capacity + " hits=" + hits
+         + " misses=" + misses + " evictions=" + evictions;
+   }
+}
@@ -0,0 +1,321 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Every minimum-length word ladder between two words, held as the shortest
+ * path DAG between them.
+ *
+ * The DAG holds each word that lies on at least one minimum-length ladder,
+ * with an edge from a word to each of its neighbors that is one step closer
+ * to the end word. Every path through the DAG from the start word to the end
+ * word is a minimum-length ladder, and every minimum-length ladder is such a
+ * path. The number of ladders is counted by dynamic programming over the DAG
+ * when it is built, so it is known without listing any ladder. The ladders
+ * themselves are produced one at a time, only as they are iterated.
+ *
+ * As with WordLadderGame.getMinLadder, a word is a ladder of one word to
+ * itself whether or not it is in the word list.
+ *
+ * A LadderDag is immutable once constructed and may be shared between
+ * threads; each iterator is for one thread.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderDag implements Iterable<List<String>> {
+
+   // The partition the DAG was built over.
+   private final LadderGraph graph;
+
+   // The start word, which stands in for the graph id -1 when it is also
+   // the end word but is not in the graph.
+   private final String start;
+
+   // The graph ids of the words in the DAG, in increasing order. A word's
+   // DAG index is its position in this array.
+   private final int[] ids;
+
+   // The successors of DAG word u are succTargets[succOffsets[u]] through
+   // succTargets[succOffsets[u + 1] - 1], as DAG indexes.
+   private final int[] succOffsets;
+   private final int[] succTargets;
+
+   // counts[u] is the number of minimum-length ladders from DAG word u to
+   // the end word, or Long.MAX_VALUE if that number does not fit in a long.
+   private final long[] counts;
+
+   // The DAG index of the start word, or -1 if there is no ladder.
+   private final int root;
+
+   // The number of steps in every ladder.
+   private final int steps;
+
+   /**
+    * Builds the shortest path DAG between two words of the given graph.
+    *
+    * @param  graph the partition holding the words of start's length
+    * @param  start the starting word
+    * @param  end   the ending word
+    */
+   public LadderDag(LadderGraph graph, String start, String end) {
+      this.graph = graph;
+      this.start = start;
+      int source = graph.indexOf(start);
+      int target = graph.indexOf(end);
+      if (source < 0 && start.equals(end)) {
+         ids = new int[] {-1};
+         succOffsets = new int[2];
+         succTargets = new int[0];
+         counts = new long[] {1};
+         root = 0;
+         steps = 0;
+         return;
+      }
+      if (source < 0 || target < 0 || !graph.connected(source, target)) {
+         ids = new int[0];
+         succOffsets = new int[1];
+         succTargets = new int[0];
+         counts = new long[0];
+         root = -1;
+         steps = 0;
+         return;
+      }
+
+      // Breadth-first search from start, stopping after target's level.
+      int n = graph.size();
+      int[] dist = new int[n];
+      Arrays.fill(dist, -1);
+      int[] queue = new int[n];
+      int head = 0;
+      int tail = 0;
+      dist[source] = 0;
+      queue[tail++] = source;
+      while (head < tail && dist[target] == -1) {
+         int u = queue[head++];
+         for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            int v = graph.targets[e];
+            if (dist[v] == -1) {
+               dist[v] = dist[u] + 1;
+               queue[tail++] = v;
+            }
+         }
+      }
+      steps = dist[target];
+
+      // Walk back from target one level at a time, keeping the neighbors one
+      // level closer to start. Each level's path counts are complete before
+      // the level below it is reached.
+      BitSet onDag = new BitSet(n);
+      long[] pathCounts = new long[n];
+      onDag.set(target);
+      pathCounts[target] = 1;
+      int levelStart = 0;
+      int levelEnd = 0;
+      queue[levelEnd++] = target;
+      for (int d = steps; d > 0; d--) {
+         int next = levelEnd;
+         for (int i = levelStart; i < levelEnd; i++) {
+            int v = queue[i];
+            for (int e = graph.offsets[v]; e < graph.offsets[v + 1]; e++) {
+               int u = graph.targets[e];
+               if (dist[u] != d - 1) {
+                  continue;
+               }
+               if (!onDag.get(u)) {
+                  onDag.set(u);
+                  queue[next++] = u;
+               }
+               pathCounts[u] = add(pathCounts[u], pathCounts[v]);
+            }
+         }
+         levelStart = levelEnd;
+         levelEnd = next;
+      }
+
+      // Compact the DAG into its own CSR arrays.
+      ids = onDag.stream().toArray();
+      counts = new long[ids.length];
+      succOffsets = new int[ids.length + 1];
+      for (int i = 0; i < ids.length; i++) {
+         int u = ids[i];
+         counts[i] = pathCounts[u];
+         int successors = 0;
+         for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            int v = graph.targets[e];
+            if (dist[v] == dist[u] + 1 && onDag.get(v)) {
+               successors++;
+            }
+         }
+         succOffsets[i + 1] = succOffsets[i] + successors;
+      }
+      succTargets = new int[succOffsets[ids.length]];
+      for (int i = 0; i < ids.length; i++) {
+         int u = ids[i];
+         int next = succOffsets[i];
+         for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            int v = graph.targets[e];
+            if (dist[v] == dist[u] + 1 && onDag.get(v)) {
+               succTargets[next++] = Arrays.binarySearch(ids, v);
+            }
+         }
+      }
+      root = Arrays.binarySearch(ids, source);
+   }
+
+   /**
+    * Returns the word with the given graph id, or the start word for -1.
+    */
+   private String word(int id) {
+      return id < 0 ? start : graph.word(id);
+   }
+
+   /**
+    * Adds two path counts, saturating at Long.MAX_VALUE.
+    */
+   private static long add(long a, long b) {
+      long sum = a + b;
+      return sum < 0 ? Long.MAX_VALUE : sum;
+   }
+
+   /**
+    * Returns the number of minimum-length ladders, or Long.MAX_VALUE if there
+    * are more than a long can count.
+    *
+    * @return the number of minimum-length ladders
+    */
+   public long getLadderCount() {
+      return root == -1 ? 0 : counts[root];
+   }
+
+   /**
+    * Returns the number of words in each minimum-length ladder, or 0 if
+    * there is no ladder.
+    *
+    * @return the length of every ladder
+    */
+   public int getLadderLength() {
+      return root == -1 ? 0 : steps + 1;
+   }
+
+   /**
+    * Returns every word that lies on at least one minimum-length ladder.
+    *
+    * @return the words of the DAG, in sorted order
+    */
+   public List<String> getWords() {
+      List<String> words = new ArrayList<>(ids.length);
+      for (int id : ids) {
+         words.add(word(id));
+      }
+      return words;
+   }
+
+   /**
+    * Returns the words that can follow the given word on a minimum-length
+    * ladder.
+    *
+    * @param  word a word of the DAG
+    * @return      the successors of word, or an empty list if word is not
+    *                  in the DAG
+    */
+   public List<String> getSuccessors(String word) {
+      List<String> successors = new ArrayList<>();
+      int id = graph.indexOf(word);
+      int u = id < 0 ? -1 : Arrays.binarySearch(ids, id);
+      if (u < 0) {
+         return successors;
+      }
+      for (int e = succOffsets[u]; e < succOffsets[u + 1]; e++) {
+         successors.add(word(ids[succTargets[e]]));
+      }
+      return successors;
+   }
+
+   /**
+    * Returns an iterator over every minimum-length ladder. Each ladder is
+    * built only when next is called.
+    *
+    * @return an iterator over the ladders
+    */
+   @Override
+   public Iterator<List<String>> iterator() {
+      return new LadderIterator();
+   }
+
+   /**
+    * Returns a sequential stream over every minimum-length ladder, built
+    * lazily as the stream is consumed.
+    *
+    * @return a stream of the ladders
+    */
+   public Stream<List<String>> stream() {
+      return StreamSupport.stream(Spliterators.spliterator(iterator(),
+         getLadderCount(), Spliterator.ORDERED | Spliterator.NONNULL), false);
+   }
+
+   /**
+    * Walks the DAG depth first, keeping the current path and the next
+    * successor to try at each step of it.
+    */
+   private class LadderIterator implements Iterator<List<String>> {
+      private final int[] path = new int[steps + 1];
+      private final int[] cursor = new int[steps + 1];
+      private int depth;
+      private boolean hasNext;
+
+      LadderIterator() {
+         if (root != -1) {
+            path[0] = root;
+            cursor[0] = succOffsets[root];
+            descend();
+         }
+      }
+
+      /**
+       * Follows the current successor at each step down to the end word.
+       */
+      private void descend() {
+         while (depth < steps) {
+            int next = succTargets[cursor[depth]];
+            depth++;
+            path[depth] = next;
+            cursor[depth] = succOffsets[next];
+         }
+         hasNext = true;
+      }
+
+      @Override
+      public boolean hasNext() {
+         return hasNext;
+      }
+
+      @Override
+      public List<String> next() {
+         if (!hasNext) {
+            throw new NoSuchElementException();
+         }
+         List<String> ladder = new ArrayList<>(steps + 1);
+         for (int u : path) {
+            ladder.add(word(ids[u]));
+         }
+
+         // Back up to the deepest step with a successor not yet tried.
+         hasNext = false;
+         while (--depth >= 0) {
+            if (++cursor[depth] < succOffsets[path[depth] + 1]) {
+               descend();
+               break;
+            }
+         }
+         return ladder;
+      }
+   }
+}
@@ -0,0 +1,407 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The one-letter-change graph over the words of a single length, stored with
+ * integer ids.
+ *
+ * Since every word in the graph has the same length, the words are packed
+ * back to back in one char array in sorted order, and a word's id is its
+ * position in that order. Edges are stored in compressed sparse row (CSR)
+ * form: the neighbors of word u are targets[offsets[u]] through
+ * targets[offsets[u + 1] - 1]. Searches over the graph therefore work entirely
+ * with ints and primitive arrays, and Strings are only created for the words
+ * handed back to callers.
+ *
+ * Words are looked up through an open-addressing hash table of ids keyed by
+ * String.hashCode, so a lookup hashes the query once (or not at all, since
+ * Strings cache their hash) and compares chars only against candidates.
+ *
+ * The connected components of the graph are labelled when it is built, so
+ * two words with no ladder between them can be recognized in constant time.
+ *
+ * A LadderGraph is immutable once constructed.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderGraph {
+
+   // The length of every word in the graph.
+   final int length;
+
+   // The number of words in the graph.
+   final int size;
+
+   // The words in sorted order, length chars each. Word u occupies
+   // letters[u * length] through letters[u * length + length - 1].
+   final char[] letters;
+
+   // offsets[u] is the index in targets of the first neighbor of word u.
+   // offsets has one more entry than there are words so offsets[u + 1] always
+   // exists.
+   final int[] offsets;
+
+   // The neighbor ids of every word, grouped by word.
+   final int[] targets;
+
+   // An open-addressing hash table of word ids plus one, with 0 marking an
+   // empty slot. Its length is a power of two at least twice the size.
+   final int[] table;
+
+   // component[u] is the label of the connected component holding word u.
+   final int[] component;
+
+   // componentSizes[c] is the number of words in component c.
+   final int[] componentSizes;
+
+   /**
+    * Builds the graph over the given words.
+    *
+    * @param  length      the length of every word
+    * @param  sortedWords the words in sorted order, without duplicates
+    */
+   public LadderGraph(int length, String[] sortedWords) {
+      this.length = length;
+      size = sortedWords.length;
+      letters = new char[size * length];
+      for (int id = 0; id < size; id++) {
+         sortedWords[id].getChars(0, length, letters, id * length);
+      }
+      offsets = new int[size + 1];
+
+      // Words that match the same wildcard pattern ("c*t", "*at", ...) are
+      // exactly the words that differ from each other in that one position.
+      Map<String, int[]> buckets = buildBuckets(sortedWords);
+
+      char[] pattern = new char[length];
+      for (int id = 0; id < size; id++) {
+         int degree = 0;
+         System.arraycopy(letters, id * length, pattern, 0, length);
+         for (int i = 0; i < length; i++) {
+            char c = pattern[i];
+            pattern[i] = '*';
+            degree += buckets.get(new String(pattern)).length - 1;
+            pattern[i] = c;
+         }
+         offsets[id + 1] = offsets[id] + degree;
+      }
+
+      targets = new int[offsets[size]];
+      for (int id = 0; id < size; id++) {
+         int next = offsets[id];
+         System.arraycopy(letters, id * length, pattern, 0, length);
+         for (int i = 0; i < length; i++) {
+            char c = pattern[i];
+            pattern[i] = '*';
+            for (int other : buckets.get(new String(pattern))) {
+               if (other != id) {
+                  targets[next++] = other;
+               }
+            }
+            pattern[i] = c;
+         }
+      }
+
+      component = new int[size];
+      componentSizes = labelComponents();
+      table = buildTable();
+   }
+
+   /**
+    * Creates a graph from arrays previously taken from another graph of the
+    * same length, as when reading a snapshot. The arrays are used as given.
+    */
+   LadderGraph(int length, char[] letters, int[] offsets, int[] targets,
+               int[] component, int[] componentSizes) {
+      this.length = length;
+      this.size = offsets.length - 1;
+      this.letters = letters;
+      this.offsets = offsets;
+      this.targets = targets;
+      this.component = component;
+      this.componentSizes = componentSizes;
+      this.table = buildTable();
+   }
+
+   /**
+    * Builds the hash table used by indexOf. A word's hash is computed from
+    * its packed letters exactly as String.hashCode would compute it.
+    */
+   private int[] buildTable() {
+      int capacity = Integer.highestOneBit(Math.max(2, size) * 2 - 1) << 1;
+      int[] slots = new int[capacity];
+      int mask = capacity - 1;
+      for (int id = 0; id < size; id++) {
+         int hash = 0;
+         int base = id * length;
+         for (int i = 0; i < length; i++) {
+            hash = 31 * hash + letters[base + i];
+         }
+         int slot = spread(hash) & mask;
+         while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+         }
+         slots[slot] = id + 1;
+      }
+      return slots;
+   }
+
+   /**
+    * Mixes the high bits of a hash into the low bits used to pick a slot.
+    */
+   private static int spread(int hash) {
+      return hash ^ (hash >>> 16);
+   }
+
+   /**
+    * Labels the connected components of the graph with a breadth-first
+    * search from every word not yet labelled, filling in component.
+    *
+    * @return the number of words in each component
+    */
+   private int[] labelComponents() {
+      int[] sizes = new int[size];
+      int[] queue = new int[size];
+      int count = 0;
+      Arrays.fill(component, -1);
+      for (int root = 0; root < size; root++) {
+         if (component[root] != -1) {
+            continue;
+         }
+         int head = 0;
+         int tail = 0;
+         component[root] = count;
+         queue[tail++] = root;
+         while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+               int v = targets[e];
+               if (component[v] == -1) {
+                  component[v] = count;
+                  queue[tail++] = v;
+               }
+            }
+         }
+         sizes[count++] = tail;
+      }
+      return Arrays.copyOf(sizes, count);
+   }
+
+   /**
+    * Files every word under each of its wildcard patterns.
+    */
+   private static Map<String, int[]> buildBuckets(String[] words) {
+      Map<String, List<Integer>> lists = new HashMap<>();
+      for (int id = 0; id < words.length; id++) {
+         char[] pattern = words[id].toCharArray();
+         for (int i = 0; i < pattern.length; i++) {
+            char c = pattern[i];
+            pattern[i] = '*';
+            String key = new String(pattern);
+            List<Integer> bucket = lists.get(key);
+            if (bucket == null) {
+               bucket = new ArrayList<>(2);
+               lists.put(key, bucket);
+            }
+            bucket.add(id);
+            pattern[i] = c;
+         }
+      }
+
+      Map<String, int[]> buckets = new HashMap<>(lists.size() * 4 / 3 + 1);
+      for (Map.Entry<String, List<Integer>> entry : lists.entrySet()) {
+         List<Integer> bucket = entry.getValue();
+         int[] ids = new int[bucket.size()];
+         for (int i = 0; i < ids.length; i++) {
+            ids[i] = bucket.get(i);
+         }
+         buckets.put(entry.getKey(), ids);
+      }
+      return buckets;
+   }
+
+   /**
+    * Returns the number of words in the graph.
+    *
+    * @return the number of words
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the length of every word in the graph.
+    *
+    * @return the word length
+    */
+   public int length() {
+      return length;
+   }
+
+   /**
+    * Returns the word with the given id.
+    *
+    * @param  id the id of the word
+    * @return    the word
+    */
+   public String word(int id) {
+      return new String(letters, id * length, length);
+   }
+
+   /**
+    * Returns the id of the given string, or a negative number if it is not
+    * a word in the graph.
+    *
+    * @param  str the string to look up
+    * @return     the id of str, or a negative number
+    */
+   public int indexOf(String str) {
+      if (str.length() != length) {
+         return -1;
+      }
+      int mask = table.length - 1;
+      int slot = spread(str.hashCode()) & mask;
+      while (table[slot] != 0) {
+         int id = table[slot] - 1;
+         if (compare(id, str) == 0) {
+            return id;
+         }
+         slot = (slot + 1) & mask;
+      }
+      return -1;
+   }
+
+   /**
+    * Compares the word with the given id to str, which must have the same
+    * length as every word in the graph.
+    */
+   private int compare(int id, String str) {
+      int base = id * length;
+      for (int i = 0; i < length; i++) {
+         int diff = letters[base + i] - str.charAt(i);
+         if (diff != 0) {
+            return diff;
+         }
+      }
+      return 0;
+   }
+
+   /**
+    * Returns the Hamming distance between two words of the graph.
+    *
+    * @param  a the id of one word
+    * @param  b the id of the other word
+    * @return   the number of positions at which the words differ
+    */
+   public int distance(int a, int b) {
+      int baseA = a * length;
+      int baseB = b * length;
+      int distance = 0;
+      for (int i = 0; i < length; i++) {
+         if (letters[baseA + i] != letters[baseB + i]) {
+            distance++;
+         }
+      }
+      return distance;
+   }
+
+   /**
+    * Returns the number of neighbors of the given word.
+    *
+    * @param  id the id of the word
+    * @return    the number of neighbors
+    */
+   public int degree(int id) {
+      return offsets[id + 1] - offsets[id];
+   }
+
+   /**
+    * Returns true if a ladder exists between the two given words.
+    *
+    * @param  a the id of one word
+    * @param  b the id of the other word
+    * @return   true if a and b are in the same connected component
+    */
+   public boolean connected(int a, int b) {
+      return component[a] == component[b];
+   }
+
+   /**
+    * Returns the number of words in each connected component of the graph.
+    *
+    * @return the component sizes, indexed by component label
+    */
+   public int[] componentSizes() {
+      return componentSizes.clone();
+   }
+
+   /**
+    * Returns the words one letter away from the given word.
+    *
+    * @param  id the id of the word
+    * @return    the neighbors of the word
+    */
+   public List<String> neighbors(int id) {
+      List<String> neighborList = new ArrayList<>(degree(id));
+      for (int e = offsets[id]; e < offsets[id + 1]; e++) {
+         neighborList.add(word(targets[e]));
+      }
+      return neighborList;
+   }
+
+   /**
+    * Returns the words one letter away from str. If str is not a word in the
+    * graph, every word of the same length is compared against it.
+    *
+    * @param  str the string to find the neighbors of
+    * @return     the neighbors of str
+    */
+   public List<String> neighborsOf(String str) {
+      int id = indexOf(str);
+      if (id >= 0) {
+         return neighbors(id);
+      }
+
+      List<String> neighborList = new ArrayList<>();
+      if (str.length() != length) {
+         return neighborList;
+      }
+      for (int other = 0; other < size; other++) {
+         int base = other * length;
+         int distance = 0;
+         for (int i = 0; i < length && distance < 2; i++) {
+            if (letters[base + i] != str.charAt(i)) {
+               distance++;
+            }
+         }
+         if (distance == 1) {
+            neighborList.add(word(other));
+         }
+      }
+      return neighborList;
+   }
+
+   /**
+    * Returns the ladder that ends at the given word, following the parent
+    * array left by a search. The parent of the first word must be -1.
+    *
+    * @param  parent the parent id of every word reached by the search
+    * @param  last   the id of the last word of the ladder
+    * @return        the ladder, first word first
+    */
+   List<String> ladder(int[] parent, int last) {
+      int count = 0;
+      for (int id = last; id != -1; id = parent[id]) {
+         count++;
+      }
+      String[] ladder = new String[count];
+      for (int id = last; id != -1; id = parent[id]) {
+         ladder[--count] = word(id);
+      }
+      return new ArrayList<>(Arrays.asList(ladder));
+   }
+}
@@ -0,0 +1,536 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Scanner;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * A word list indexed for word ladder queries, safe to share between threads.
+ *
+ * Words are grouped by length when the index is loaded, and each length is
+ * turned into an immutable LadderGraph the first time it is requested. Once a
+ * length has been built, queries against it read only immutable data and
+ * take no locks. Searches borrow a LadderSearch from a small pool and return
+ * it when they finish, so the scratch buffers a search needs are reused
+ * rather than allocated per call, however many threads make the calls.
+ *
+ * An index can be saved to a binary snapshot holding every partition's
+ * packed words, edges and component labels. Loading a snapshot memory-maps
+ * the file and copies each array out in bulk, so it skips tokenizing the
+ * word list, building the graphs, and creating an object per word.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderIndex {
+
+   // The words of every length that has not been requested yet, unsorted.
+   // A length's words are removed once its partition has been built.
+   private final Map<Integer, String[]> pending = new ConcurrentHashMap<>();
+
+   // The built partition for every word length requested so far.
+   private final Map<Integer, LadderGraph> partitions = new ConcurrentHashMap<>();
+
+   // The build of every partition under way, which requests for its length
+   // wait on. A build is removed once it finishes, whether or not it fails.
+   private final Map<Integer, FutureTask<LadderGraph>> builds =
+      new ConcurrentHashMap<>();
+
+   // Every length that at least one word in the index has.
+   private final Set<Integer> wordLengths;
+
+   // The partition given for every length no word has. It is shared and
+   // never stored, so queries for such lengths leave the index as it was.
+   private static final LadderGraph NO_WORDS = new LadderGraph(0, new String[0]);
+
+   // Identifies a snapshot file, and the version of its layout.
+   private static final int SNAPSHOT_MAGIC = 0x4C414444;
+   private static final int SNAPSHOT_VERSION = 1;
+
+   // The number of distinct words in the word list.
+   private final int wordCount;
+
+   // The graph of every word with insertions and deletions as well as
+   // substitutions, built the first time an edit ladder is requested.
+   private volatile EditLadderGraph editGraph;
+
+   // The most idle searches kept for reuse. A search returned while this
+   // many are idle is dropped.
+   private static final int MAX_IDLE_SEARCHES =
+      Runtime.getRuntime().availableProcessors() * 2;
+
+   // The idle searches, whose scratch buffers are reused by later calls,
+   // and how many there are.
+   private final Queue<LadderSearch> searches = new ConcurrentLinkedQueue<>();
+   private final AtomicInteger idleSearches = new AtomicInteger();
+
+   /**
+    * Builds an index over the strings in the provided InputStream. The first
+    * string on each line is taken as a word; the rest of the line is ignored.
+    * The stream is closed when it has been read.
+    *
+    * @param  in the word list
+    * @throws IOException if the stream cannot be read
+    */
+   public LadderIndex(InputStream in) throws IOException {
+      Map<Integer, Set<String>> byLength = new HashMap<>();
+      int count = 0;
+      Scanner s = new Scanner(new BufferedReader(new InputStreamReader(in)));
+      while (s.hasNext()) {
+         String word = s.next().toLowerCase();
+         Set<String> sameLength = byLength.get(word.length());
+         if (sameLength == null) {
+            sameLength = new HashSet<String>();
+            byLength.put(word.length(), sameLength);
+         }
+         if (sameLength.add(word)) {
+            count++;
+         }
+         s.nextLine();
+      }
+      in.close();
+
+      for (Map.Entry<Integer, Set<String>> entry : byLength.entrySet()) {
+         pending.put(entry.getKey(), entry.getValue().toArray(new String[0]));
+      }
+      wordLengths = Collections.unmodifiableSet(new HashSet<>(byLength.keySet()));
+      wordCount = count;
+   }
+
+   /**
+    * Creates an index whose partitions are all already built.
+    */
+   private LadderIndex(List<LadderGraph> graphs) {
+      int count = 0;
+      for (LadderGraph graph : graphs) {
+         partitions.put(graph.length(), graph);
+         count += graph.size();
+      }
+      wordLengths = Collections.unmodifiableSet(new HashSet<>(partitions.keySet()));
+      wordCount = count;
+   }
+
+   /**
+    * Writes every partition of this index to a snapshot file, building any
+    * partition that has not been requested yet. The file can be read back
+    * with load.
+    *
+    * The snapshot starts with a magic number, a version and the number of
+    * partitions. Each partition follows as its word length, word count,
+    * edge count and component count, then its letters, offsets, targets,
+    * component labels and component sizes. All values are big-endian.
+    *
+    * @param  file the file to write
+    * @throws IOException if the file cannot be written
+    */
+   public void save(Path file) throws IOException {
+      int[] lengths = getWordLengths();
+      try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file)))) {
+         out.writeInt(SNAPSHOT_MAGIC);
+         out.writeInt(SNAPSHOT_VERSION);
+         out.writeInt(lengths.length);
+         for (int length : lengths) {
+            LadderGraph graph = partition(length);
+            out.writeInt(graph.length);
+            out.writeInt(graph.size);
+            out.writeInt(graph.targets.length);
+            out.writeInt(graph.componentSizes.length);
+            for (char c : graph.letters) {
+               out.writeChar(c);
+            }
+            writeInts(out, graph.offsets);
+            writeInts(out, graph.targets);
+            writeInts(out, graph.component);
+            writeInts(out, graph.componentSizes);
+         }
+      }
+   }
+
+   private static void writeInts(DataOutputStream out, int[] values)
+         throws IOException {
+      for (int value : values) {
+         out.writeInt(value);
+      }
+   }
+
+   /**
+    * Reads an index from a snapshot file written by save. The file is
+    * memory-mapped and each array is copied out of it in bulk. The counts in
+    * the file are checked against its length before any array is made.
+    *
+    * @param  file the snapshot file
+    * @return      the index stored in the file
+    * @throws IOException if the file cannot be read or is not a snapshot
+    */
+   public static LadderIndex load(Path file) throws IOException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         MappedByteBuffer buffer =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC
+                  || buffer.getInt() != SNAPSHOT_VERSION) {
+               throw new IOException("Not a ladder snapshot: " + file);
+            }
+            int count = buffer.getInt();
+            if (count < 0 || 16L * count > buffer.remaining()) {
+               throw new IOException("Corrupt ladder snapshot: " + file);
+            }
+            List<LadderGraph> graphs = new ArrayList<>(count);
+            for (int p = 0; p < count; p++) {
+               int length = buffer.getInt();
+               int size = buffer.getInt();
+               int edges = buffer.getInt();
+               int components = buffer.getInt();
+               if (length < 0 || size < 0 || edges < 0 || components < 0
+                     || size > buffer.remaining() / 8
+                     || 2L * size * length + 4L * (2L * size + 1 + edges
+                        + components) > buffer.remaining()) {
+                  throw new IOException("Corrupt ladder snapshot: " + file);
+               }
+               char[] letters = new char[size * length];
+               buffer.asCharBuffer().get(letters);
+               buffer.position(buffer.position() + 2 * letters.length);
+               int[] offsets = readInts(buffer, size + 1);
+               int[] targets = readInts(buffer, edges);
+               int[] component = readInts(buffer, size);
+               int[] componentSizes = readInts(buffer, components);
+               graphs.add(new LadderGraph(length, letters, offsets, targets,
+                                          component, componentSizes));
+            }
+            return new LadderIndex(graphs);
+         }
+         catch (BufferUnderflowException e) {
+            throw new IOException("Truncated ladder snapshot: " + file);
+         }
+      }
+   }
+
+   private static int[] readInts(ByteBuffer buffer, int count) {
+      int[] values = new int[count];
+      buffer.asIntBuffer().get(values);
+      buffer.position(buffer.position() + 4 * count);
+      return values;
+   }
+
+   /**
+    * Returns the partition holding the words of the given length, building
+    * it the first time that length is requested. The first request puts a
+    * build task in the builds map and runs it itself, outside any lock of
+    * the map, so builds of other lengths go ahead at the same time.
+    * Concurrent requests for the same length wait for that build rather
+    * than starting their own. If the build fails, its words stay pending
+    * and the next request builds it again. A length no word has gets an
+    * empty partition that is not stored.
+    */
+   LadderGraph partition(int length) {
+      LadderGraph graph = partitions.get(length);
+      if (graph != null) {
+         return graph;
+      }
+      if (!wordLengths.contains(length)) {
+         return NO_WORDS;
+      }
+      FutureTask<LadderGraph> build =
+         new FutureTask<>(() -> buildPartition(length));
+      FutureTask<LadderGraph> running = builds.putIfAbsent(length, build);
+      if (running == null) {
+         running = build;
+         build.run();
+         builds.remove(length, build);
+      }
+      return await(running);
+   }
+
+   /**
+    * Builds the partition for the given length from its pending words,
+    * storing it before the words are dropped. If no words are pending, the
+    * partition was built by an earlier build and is returned as it is.
+    */
+   private LadderGraph buildPartition(int length) {
+      String[] words = pending.get(length);
+      if (words == null) {
+         return partitions.get(length);
+      }
+      Arrays.sort(words);
+      LadderGraph graph = new LadderGraph(length, words);
+      partitions.put(length, graph);
+      pending.remove(length);
+      return graph;
+   }
+
+   /**
+    * Waits for a partition build to finish, keeping the thread's interrupt
+    * status if it is interrupted while waiting, and returns the partition
+    * or throws what the build threw.
+    */
+   private static LadderGraph await(FutureTask<LadderGraph> build) {
+      boolean interrupted = false;
+      try {
+         while (true) {
+            try {
+               return build.get();
+            }
+            catch (InterruptedException e) {
+               interrupted = true;
+            }
+         }
+      }
+      catch (ExecutionException e) {
+         Throwable cause = e.getCause();
+         if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+         }
+         if (cause instanceof Error) {
+            throw (Error) cause;
+         }
+         throw new IllegalStateException(cause);
+      }
+      finally {
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+   /**
+    * Returns the edit graph over every word, building it and every partition
+    * the first time it is requested.
+    */
+   EditLadderGraph editGraph() {
+      EditLadderGraph graph = editGraph;
+      if (graph == null) {
+         synchronized (this) {
+            graph = editGraph;
+            if (graph == null) {
+               List<LadderGraph> graphs = new ArrayList<>();
+               for (int length : getWordLengths()) {
+                  graphs.add(partition(length));
+               }
+               graph = new EditLadderGraph(graphs);
+               editGraph = graph;
+            }
+         }
+      }
+      return graph;
+   }
+
+   /**
+    * Returns a minimum-length word ladder from start to end, or an empty list
+    * if no word ladder exists. The returned list belongs to the caller.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @param  mode  the search strategy to use
+    * @return       a minimum length word ladder from start to end
+    */
+   public List<String> getMinLadder(String start, String end,
+                                    WordLadderGame.SearchMode mode) {
+      return getMinLadder(start, end, mode, null);
+   }
+
+   /**
+    * Returns a minimum-length word ladder from start to end, or an empty list
+    * if no word ladder exists, and passes the number of words the search
+    * expanded to expanded. The returned list belongs to the caller.
+    *
+    * @param  start    the starting word
+    * @param  end      the ending word
+    * @param  mode     the search strategy to use
+    * @param  expanded receives the number of words expanded, or null
+    * @return          a minimum length word ladder from start to end
+    */
+   public List<String> getMinLadder(String start, String end,
+                                    WordLadderGame.SearchMode mode,
+                                    IntConsumer expanded) {
+      LadderSearch search = borrowSearch();
+      try {
+         List<String> ladder = search.getMinLadder(partition(start.length()),
+                                                   start, end, mode);
+         if (expanded != null) {
+            expanded.accept(search.getExpandedCount());
+         }
+         return ladder;
+      }
+      finally {
+         returnSearch(search);
+      }
+   }
+
+   /**
+    * Takes an idle search from the pool, or creates one if none is idle.
+    */
+   private LadderSearch borrowSearch() {
+      LadderSearch search = searches.poll();
+      if (search == null) {
+         return new LadderSearch();
+      }
+      idleSearches.decrementAndGet();
+      return search;
+   }
+
+   /**
+    * Puts a search back in the pool for reuse, unless the pool is full.
+    */
+   private void returnSearch(LadderSearch search) {
+      if (idleSearches.incrementAndGet() <= MAX_IDLE_SEARCHES) {
+         searches.offer(search);
+      }
+      else {
+         idleSearches.decrementAndGet();
+      }
+   }
+
+   /**
+    * Returns every minimum-length word ladder from start to end, as the
+    * shortest path DAG between them. The DAG counts the ladders without
+    * listing them and lists them lazily when iterated.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @return       the shortest path DAG from start to end
+    */
+   public LadderDag getAllMinLadders(String start, String end) {
+      return new LadderDag(partition(start.length()), start, end);
+   }
+
+   /**
+    * Returns a minimum-length word ladder from start to each of the given end
+    * words, in the order the end words are given. A single breadth-first
+    * search from start is shared by every ladder, and each ladder is built
+    * only as the returned stream is consumed, so arbitrarily many end words
+    * can be answered in bounded memory.
+    *
+    * @param  start the starting word shared by every ladder
+    * @param  ends  the ending words
+    * @return       a stream of minimum length word ladders, one per end word,
+    *                   each empty if no ladder exists
+    */
+   public Stream<List<String>> getMinLadders(String start, Stream<String> ends) {
+      LadderTree tree = new LadderTree(partition(start.length()), start);
+      return ends.map(tree::ladderTo);
+   }
+
+   /**
+    * Returns all the words that have a Hamming distance of one relative to the
+    * given string.
+    *
+    * @param  word the given string
+    * @return      the neighbors of the given string
+    */
+   public List<String> getNeighbors(String word) {
+      return partition(word.length()).neighborsOf(word);
+   }
+
+   /**
+    * Returns a minimum-length edit ladder from start to end, or an empty list
+    * if no edit ladder exists. Each word of an edit ladder is one letter
+    * substitution, insertion or deletion away from the word before it, so
+    * start and end may have different lengths. The returned list belongs to
+    * the caller.
+    *
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @return       a minimum length edit ladder from start to end
+    */
+   public List<String> getMinEditLadder(String start, String end) {
+      EditLadderGraph graph = editGraph();
+      LadderSearch search = borrowSearch();
+      try {
+         return search.getMinEditLadder(graph, start, end);
+      }
+      finally {
+         returnSearch(search);
+      }
+   }
+
+   /**
+    * Returns all the words one letter substitution, insertion or deletion
+    * away from the given string.
+    *
+    * @param  word the given string
+    * @return      the edit neighbors of the given string
+    */
+   public List<String> getEditNeighbors(String word) {
+      return editGraph().neighborsOf(word);
+   }
+
+   /**
+    * Returns every length that at least one word in the index has.
+    *
+    * @return the word lengths, in increasing order
+    */
+   public int[] getWordLengths() {
+      Set<Integer> lengths = new TreeSet<>(wordLengths);
+      int[] result = new int[lengths.size()];
+      int i = 0;
+      for (int length : lengths) {
+         result[i++] = length;
+      }
+      return result;
+   }
+
+   /**
+    * Returns the total number of words in the index.
+    *
+    * @return number of words in the index
+    */
+   public int getWordCount() {
+      return wordCount;
+   }
+
+   /**
+    * Checks to see if the given string is a word.
+    *
+    * @param  str the string to check
+    * @return     true if str is a word, false otherwise
+    */
+   public boolean isWord(String str) {
+      return partition(str.length()).indexOf(str) >= 0;
+   }
+
+   /**
+    * Returns the sizes of the connected components among the words of the
+    * given length, largest first. A ladder exists between two words exactly
+    * when they are in the same component.
+    *
+    * @param  length the word length
+    * @return        the component sizes, in decreasing order
+    */
+   public int[] getComponentSizes(int length) {
+      int[] sizes = partition(length).componentSizes();
+      Arrays.sort(sizes);
+      for (int i = 0, j = sizes.length - 1; i < j; i++, j--) {
+         int temp = sizes[i];
+         sizes[i] = sizes[j];
+         sizes[j] = temp;
+      }
+      return sizes;
+   }
+}
@@ -0,0 +1,336 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Runs ladder searches over a LadderGraph using scratch buffers that are
+ * reused from one search to the next. The buffers grow to fit the largest
+ * partition searched and are never shrunk, so a warmed-up LadderSearch
+ * allocates only the returned ladder.
+ *
+ * A LadderSearch is not thread-safe. Each thread should use its own;
+ * LadderIndex keeps a pool of them and lends each to one call at a time.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderSearch {
+
+   // The search outward from the start word. Breadth-first search only
+   // uses this side.
+   private final Frontier fromStart = new Frontier();
+
+   // The search outward from the end word.
+   private final Frontier fromEnd = new Frontier();
+
+   // The cost of the best known ladder to each word discovered by A*.
+   private int[] cost = new int[0];
+
+   // The words A* has expanded.
+   private final BitSet closed = new BitSet();
+
+   // The words A* has discovered but not yet expanded.
+   private final OpenSet open = new OpenSet();
+
+   // Runs parallel breadth-first searches, created on first use.
+   private ParallelLadderSearch parallel;
+
+   // The number of words expanded by the most recent search.
+   private int expandedCount;
+
+   /**
+    * Returns a minimum-length ladder from start to end, or an empty list if
+    * no ladder exists. The returned list belongs to the caller.
+    *
+    * @param  graph the partition holding the words of start's length
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @param  mode  the search strategy to use
+    * @return       a minimum-length ladder from start to end
+    */
+   public List<String> getMinLadder(LadderGraph graph, String start, String end,
+                                    WordLadderGame.SearchMode mode) {
+      expandedCount = 0;
+      List<String> ladder = new ArrayList<>();
+      if (start.equals(end)) {
+         ladder.add(start);
+         return ladder;
+      }
+
+      int source = graph.indexOf(start);
+      int target = graph.indexOf(end);
+      if (source < 0 || target < 0 || !graph.connected(source, target)) {
+         return ladder;
+      }
+      if (mode == WordLadderGame.SearchMode.BIDIRECTIONAL) {
+         return bidirectionalLadder(graph, source, target);
+      }
+      if (mode == WordLadderGame.SearchMode.A_STAR) {
+         return aStarLadder(graph, source, target);
+      }
+      if (mode == WordLadderGame.SearchMode.PARALLEL_BREADTH_FIRST) {
+         if (parallel == null) {
+            parallel = new ParallelLadderSearch();
+         }
+         ladder = parallel.getMinLadder(graph, source, target);
+         expandedCount = parallel.getExpandedCount();
+         return ladder;
+      }
+      return breadthFirstLadder(graph, source, target);
+   }
+
+   /**
+    * Returns a minimum-length edit ladder from start to end, or an empty list
+    * if no edit ladder exists. The returned list belongs to the caller.
+    *
+    * @param  graph the edit graph over every word
+    * @param  start the starting word
+    * @param  end   the ending word
+    * @return       a minimum-length edit ladder from start to end
+    */
+   public List<String> getMinEditLadder(EditLadderGraph graph, String start,
+                                        String end) {
+      if (start.equals(end)) {
+         expandedCount = 0;
+         List<String> ladder = new ArrayList<>();
+         ladder.add(start);
+         return ladder;
+      }
+      List<String> ladder = graph.getMinLadder(start, end, fromStart);
+      expandedCount = ladder.isEmpty() ? 0 : fromStart.head;
+      return ladder;
+   }
+
+   /**
+    * Returns the number of words expanded by the most recent search.
+    *
+    * @return the number of words expanded
+    */
+   public int getExpandedCount() {
+      return expandedCount;
+   }
+
+   /**
+    * Searches for a minimum-length ladder with a breadth-first search that
+    * grows outward from source until it reaches target.
+    */
+   private List<String> breadthFirstLadder(LadderGraph graph, int source, int target) {
+      Frontier f = fromStart;
+      f.reset(graph.size(), source);
+
+      while (f.head < f.tail) {
+         int u = f.queue[f.head++];
+         expandedCount++;
+         for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            int v = graph.targets[e];
+            if (f.visited.get(v)) {
+               continue;
+            }
+            f.visited.set(v);
+            f.parent[v] = u;
+            if (v == target) {
+               return graph.ladder(f.parent, target);
+            }
+            f.queue[f.tail++] = v;
+         }
+      }
+      return new ArrayList<>();
+   }
+
+   /**
+    * Searches for a minimum-length ladder with two breadth-first searches, one
+    * from source and one from target. Each round expands one whole level of
+    * the smaller frontier. The first word discovered by both searches lies on
+    * a shortest ladder: the two visited sets stay disjoint until then, so no
+    * shorter ladder can exist.
+    */
+   private List<String> bidirectionalLadder(LadderGraph graph, int source,
+                                            int target) {
+      fromStart.reset(graph.size(), source);
+      fromEnd.reset(graph.size(), target);
+
+      while (fromStart.size() > 0 && fromEnd.size() > 0) {
+         boolean forward = fromStart.size() <= fromEnd.size();
+         Frontier mine = forward ? fromStart : fromEnd;
+         Frontier other = forward ? fromEnd : fromStart;
+         int levelEnd = mine.tail;
+
+         while (mine.head < levelEnd) {
+            int u = mine.queue[mine.head++];
+            expandedCount++;
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+               int v = graph.targets[e];
+               if (mine.visited.get(v)) {
+                  continue;
+               }
+               mine.visited.set(v);
+               mine.parent[v] = u;
+               if (other.visited.get(v)) {
+                  return joinLadder(graph, v);
+               }
+               mine.queue[mine.tail++] = v;
+            }
+         }
+      }
+      return new ArrayList<>();
+   }
+
+   /**
+    * Searches for a minimum-length ladder with A*, using the Hamming distance
+    * to target as the heuristic. The heuristic is consistent, since one step
+    * changes it by at most one, so a word's cost is final once it is
+    * expanded and the first time target leaves the open set its ladder is a
+    * shortest one. Among words of equal estimated total, the one closest to
+    * target is expanded first.
+    */
+   private List<String> aStarLadder(LadderGraph graph, int source, int target) {
+      Frontier f = fromStart;
+      f.reset(graph.size(), source);
+      if (cost.length < graph.size()) {
+         cost = new int[graph.size()];
+      }
+      closed.clear();
+      open.clear();
+      cost[source] = 0;
+      open.add(source, priority(0, graph.distance(source, target)));
+
+      while (!open.isEmpty()) {
+         int u = open.removeMin();
+         if (closed.get(u)) {
+            continue;
+         }
+         if (u == target) {
+            return graph.ladder(f.parent, target);
+         }
+         closed.set(u);
+         expandedCount++;
+         int g = cost[u] + 1;
+         for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            int v = graph.targets[e];
+            if (closed.get(v) || (f.visited.get(v) && cost[v] <= g)) {
+               continue;
+            }
+            f.visited.set(v);
+            f.parent[v] = u;
+            cost[v] = g;
+            open.add(v, priority(g, graph.distance(v, target)));
+         }
+      }
+      return new ArrayList<>();
+   }
+
+   /**
+    * Packs an A* estimate into one int that orders by estimated total ladder
+    * length and then by remaining distance.
+    */
+   private static int priority(int cost, int remaining) {
+      return ((cost + remaining) << 16) | remaining;
+   }
+
+   /**
+    * Builds the ladder through meet by following the parents recorded by the
+    * search from the start word and the search from the end word.
+    */
+   private List<String> joinLadder(LadderGraph graph, int meet) {
+      List<String> ladder = graph.ladder(fromStart.parent, meet);
+      for (int id = fromEnd.parent[meet]; id != -1; id = fromEnd.parent[id]) {
+         ladder.add(graph.word(id));
+      }
+      return ladder;
+   }
+
+   /**
+    * One side of a search: a queue of word ids, the words it has visited,
+    * and the parent of each visited word. EditLadderGraph searches with one
+    * too.
+    */
+   static class Frontier {
+      int[] queue = new int[0];
+      int[] parent = new int[0];
+      BitSet visited = new BitSet();
+      int head;
+      int tail;
+
+      /**
+       * Empties the frontier, making room for a graph of the given size,
+       * and starts it at root.
+       */
+      void reset(int size, int root) {
+         if (queue.length < size) {
+            queue = new int[size];
+            parent = new int[size];
+         }
+         visited.clear();
+         head = 0;
+         tail = 0;
+         visited.set(root);
+         parent[root] = -1;
+         queue[tail++] = root;
+      }
+
+      int size() {
+         return tail - head;
+      }
+   }
+
+   /**
+    * A binary min-heap of word ids keyed by int priorities, held in parallel
+    * primitive arrays. A word may be added more than once; stale entries are
+    * skipped by the caller.
+    */
+   private static class OpenSet {
+      int[] ids = new int[64];
+      int[] keys = new int[64];
+      int size;
+
+      boolean isEmpty() {
+         return size == 0;
+      }
+
+      void clear() {
+         size = 0;
+      }
+
+      void add(int id, int key) {
+         if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+         }
+         int i = size++;
+         while (i > 0) {
+            int up = (i - 1) / 2;
+            if (keys[up] <= key) {
+               break;
+            }
+            ids[i] = ids[up];
+            keys[i] = keys[up];
+            i = up;
+         }
+         ids[i] = id;
+         keys[i] = key;
+      }
+
+      int removeMin() {
+         int min = ids[0];
+         int id = ids[--size];
+         int key = keys[size];
+         int i = 0;
+         while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+               child++;
+            }
+            if (key <= keys[child]) {
+               break;
+            }
+            ids[i] = ids[child];
+            keys[i] = keys[child];
+            i = child;
+         }
+         ids[i] = id;
+         keys[i] = key;
+         return min;
+      }
+   }
+}
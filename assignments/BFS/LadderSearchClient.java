@@ -0,0 +1,84 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.List;
+
+/**
+ * LadderSearchClient.java
+ * Compares the search strategies available to getMinLadder by running the
+ * same ladders with each one and reporting the ladder length, the number of
+ * words expanded, and the elapsed time. Also summarizes the connected
+ * components of each word length.
+ *
+ * Usage: java LadderSearchClient [wordfile ...]
+ *
+ * With no arguments the word lists from the DFS assignment are used.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderSearchClient {
+
+   /** Ladders to search for in every word list. */
+   private static final String[][] PAIRS = {
+      {"cat", "dog"}, {"cold", "warm"}, {"head", "tail"}, {"love", "hate"},
+      {"ape", "man"}, {"lead", "gold"}, {"black", "white"}, {"tiger", "eagle"},
+   };
+
+   /** Longest word length reported in the component summary. */
+   private static final int MAX_LENGTH = 15;
+
+   /** Drives execution. */
+   public static void main(String[] args) throws FileNotFoundException {
+      if (args.length == 0) {
+         args = new String[] {"../DFS/wordfiles/words.txt",
+                              "../DFS/wordfiles/OWL.txt"};
+      }
+      for (String fileName : args) {
+         Doublets doublets =
+            new Doublets(new FileInputStream(new File(fileName)));
+         System.out.println(fileName + " (" + doublets.getWordCount() + " words)");
+         printComponents(doublets);
+         System.out.println("mode\tstart\tend\tlength\texpanded\tms");
+      
+         for (WordLadderGame.SearchMode mode : WordLadderGame.SearchMode.values()) {
+            doublets.setSearchMode(mode);
+            // warm up before collecting timing data
+            for (String[] pair : PAIRS) {
+               doublets.getMinLadder(pair[0], pair[1]);
+            }
+            for (String[] pair : PAIRS) {
+               double start = System.nanoTime();
+               List<String> ladder = doublets.getMinLadder(pair[0], pair[1]);
+               double elapsedTime = (System.nanoTime() - start) / 1_000_000d;
+               System.out.print(mode + "\t" + pair[0] + "\t" + pair[1] + "\t");
+               System.out.print(ladder.size() + "\t" + doublets.getExpandedCount() + "\t");
+               System.out.printf("%4.3f\n", elapsedTime);
+            }
+         }
+         System.out.println();
+      }
+   }
+
+   /** Prints the component structure of each word length. */
+   private static void printComponents(Doublets doublets) {
+      System.out.println("length\twords\tcomponents\tlargest\tsingletons");
+      for (int length = 1; length <= MAX_LENGTH; length++) {
+         int[] sizes = doublets.getComponentSizes(length);
+         if (sizes.length == 0) {
+            continue;
+         }
+         int words = 0;
+         int singletons = 0;
+         for (int size : sizes) {
+            words += size;
+            if (size == 1) {
+               singletons++;
+            }
+         }
+         System.out.print(length + "\t" + words + "\t" + sizes.length + "\t");
+         System.out.println(sizes[0] + "\t" + singletons);
+      }
+      System.out.println();
+   }
+}
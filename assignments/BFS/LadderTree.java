@@ -0,0 +1,92 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The breadth-first search tree of a LadderGraph rooted at one word.
+ *
+ * The tree is built with a single breadth-first search over the root's
+ * connected component, and keeps the parent of every word reached. A
+ * minimum-length ladder from the root to any word is then found by walking
+ * parents back from that word, without searching again. This makes a tree
+ * the right tool for answering many ladders that share a start word.
+ *
+ * A LadderTree is immutable once constructed and may be shared between
+ * threads.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderTree {
+
+   // Marks a word the search did not reach.
+   private static final int UNREACHED = -2;
+
+   // The partition the tree was built over.
+   private final LadderGraph graph;
+
+   // The word the tree is rooted at.
+   private final String root;
+
+   // parent[u] is the id of the word before u on a shortest ladder from the
+   // root, -1 for the root itself, or UNREACHED. Null when the root is not a
+   // word, in which case only the root itself can be reached.
+   private final int[] parent;
+
+   /**
+    * Builds the search tree rooted at the given word.
+    *
+    * @param  graph the partition holding the words of root's length
+    * @param  root  the word every ladder starts from
+    */
+   public LadderTree(LadderGraph graph, String root) {
+      this.graph = graph;
+      this.root = root;
+      int source = graph.indexOf(root);
+      if (source < 0) {
+         parent = null;
+         return;
+      }
+
+      parent = new int[graph.size()];
+      Arrays.fill(parent, UNREACHED);
+      int[] queue = new int[graph.size()];
+      int head = 0;
+      int tail = 0;
+      parent[source] = -1;
+      queue[tail++] = source;
+      while (head < tail) {
+         int u = queue[head++];
+         for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+            int v = graph.targets[e];
+            if (parent[v] == UNREACHED) {
+               parent[v] = u;
+               queue[tail++] = v;
+            }
+         }
+      }
+   }
+
+   /**
+    * Returns a minimum-length word ladder from the root to end, or an empty
+    * list if no word ladder exists. The returned list belongs to the caller.
+    *
+    * @param  end the ending word
+    * @return     a minimum length word ladder from the root to end
+    */
+   public List<String> ladderTo(String end) {
+      if (end.equals(root)) {
+         List<String> ladder = new ArrayList<>();
+         ladder.add(root);
+         return ladder;
+      }
+      if (parent == null) {
+         return new ArrayList<>();
+      }
+      int target = graph.indexOf(end);
+      if (target < 0 || parent[target] == UNREACHED) {
+         return new ArrayList<>();
+      }
+      return graph.ladder(parent, target);
+   }
+}
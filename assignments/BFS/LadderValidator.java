@@ -0,0 +1,199 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks sequences of strings against the rules of a word ladder, one at a
+ * time or in bulk from a stream.
+ *
+ * Each string of a sequence is looked up in the index once, and adjacent
+ * words are then compared by id over the index's packed letters, so checking
+ * a ladder allocates nothing. When a sequence is not a word ladder, the
+ * validator reports why.
+ *
+ * A LadderValidator keeps no state of its own and may be shared between
+ * threads.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class LadderValidator {
+
+   /**
+    * The outcome of checking one sequence.
+    */
+   public enum Verdict {
+      /** The sequence is a word ladder. */
+      VALID,
+      /** The sequence has no strings in it. */
+      EMPTY,
+      /** Two adjacent strings have different lengths. */
+      LENGTH_CHANGED,
+      /** A string is not a word in the lexicon. */
+      NOT_A_WORD,
+      /** Two adjacent words do not differ in exactly one letter. */
+      NOT_ONE_LETTER_APART
+   }
+
+   /**
+    * The totals from checking a stream of sequences.
+    */
+   public static class Report {
+      private final long[] counts = new long[Verdict.values().length];
+      private long total;
+      private long nanos;
+
+      /**
+       * Returns the number of sequences checked.
+       *
+       * @return the number of sequences
+       */
+      public long getTotal() {
+         return total;
+      }
+
+      /**
+       * Returns the number of sequences given the verdict.
+       *
+       * @param  verdict the verdict to count
+       * @return         the number of sequences with that verdict
+       */
+      public long getCount(Verdict verdict) {
+         return counts[verdict.ordinal()];
+      }
+
+      /**
+       * Returns the number of sequences checked per second.
+       *
+       * @return the throughput in sequences per second
+       */
+      public double getThroughput() {
+         return nanos == 0 ? 0 : total * 1_000_000_000d / nanos;
+      }
+
+      /**
+       * Returns the count for every verdict and the throughput.
+       *
+       * @return a summary of the report
+       */
+      @Override
+      public String toString() {
+         StringBuilder result = new StringBuilder();
+         result.append("total\t").append(total).append('\n');
+         for (Verdict verdict : Verdict.values()) {
+            result.append(verdict).append('\t')
+               .append(counts[verdict.ordinal()]).append('\n');
+         }
+         result.append(String.format("ladders/sec\t%.0f", getThroughput()));
+         return result.toString();
+      }
+   }
+
+   // The lexicon ladders are checked against.
+   private final LadderIndex index;
+
+   /**
+    * Creates a validator for ladders over the given lexicon.
+    *
+    * @param  index the lexicon to check words against
+    */
+   public LadderValidator(LadderIndex index) {
+      this.index = index;
+   }
+
+   /**
+    * Checks whether the given sequence of strings is a word ladder. As with
+    * WordLadderGame.isWordLadder, a sequence of a single string is a ladder.
+    *
+    * @param  sequence the sequence to check
+    * @return          VALID if the sequence is a word ladder, or the first
+    *                      reason it is not
+    */
+   public Verdict check(List<String> sequence) {
+      int size = sequence.size();
+      if (size == 0) {
+         return Verdict.EMPTY;
+      }
+      if (size == 1) {
+         return Verdict.VALID;
+      }
+
+      String first = sequence.get(0);
+      LadderGraph graph = index.partition(first.length());
+      int previous = graph.indexOf(first);
+      if (previous < 0) {
+         return Verdict.NOT_A_WORD;
+      }
+      for (int i = 1; i < size; i++) {
+         String word = sequence.get(i);
+         if (word.length() != first.length()) {
+            return Verdict.LENGTH_CHANGED;
+         }
+         int current = graph.indexOf(word);
+         if (current < 0) {
+            return Verdict.NOT_A_WORD;
+         }
+         if (graph.distance(previous, current) != 1) {
+            return Verdict.NOT_ONE_LETTER_APART;
+         }
+         previous = current;
+      }
+      return Verdict.VALID;
+   }
+
+   /**
+    * Checks every sequence read from the given reader, one sequence per line
+    * with its strings separated by whitespace or commas. Blank lines are
+    * skipped. Each line that is not a word ladder is written to failures as
+    * its line number, its verdict and the line itself, tab separated.
+    *
+    * @param  in       the sequences to check
+    * @param  failures where to report failed lines, or null to report none
+    * @return          the count of each verdict and the throughput
+    * @throws IOException if the reader cannot be read
+    */
+   public Report validate(BufferedReader in, PrintWriter failures)
+         throws IOException {
+      Report report = new Report();
+      List<String> sequence = new ArrayList<>();
+      long start = System.nanoTime();
+      int lineNumber = 0;
+      String line;
+      while ((line = in.readLine()) != null) {
+         lineNumber++;
+         sequence.clear();
+         split(line, sequence);
+         if (sequence.isEmpty()) {
+            continue;
+         }
+         Verdict verdict = check(sequence);
+         report.counts[verdict.ordinal()]++;
+         report.total++;
+         if (verdict != Verdict.VALID && failures != null) {
+            failures.println(lineNumber + "\t" + verdict + "\t" + line);
+         }
+      }
+      report.nanos = System.nanoTime() - start;
+      return report;
+   }
+
+   /**
+    * Adds the lowercased strings of the given line to sequence.
+    */
+   private static void split(String line, List<String> sequence) {
+      int start = -1;
+      for (int i = 0; i <= line.length(); i++) {
+         boolean separator = i == line.length()
+            || line.charAt(i) == ',' || Character.isWhitespace(line.charAt(i));
+         if (separator && start >= 0) {
+            sequence.add(line.substring(start, i).toLowerCase());
+            start = -1;
+         }
+         else if (!separator && start < 0) {
+            start = i;
+         }
+      }
+   }
+}
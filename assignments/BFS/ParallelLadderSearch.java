@@ -0,0 +1,206 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Runs level-synchronous parallel breadth-first searches over a LadderGraph.
+ *
+ * Each level of the search is expanded by fork-join tasks that split the
+ * current frontier between them. A task claims a word by setting its bit in
+ * a shared atomic bitset, so each word is discovered exactly once and gets
+ * exactly one parent. The next level is started only after every task of
+ * the current level has finished, so the ladder found is still a shortest
+ * one. This pays off only for very large lexicons, where a single level
+ * holds many thousands of words; small frontiers are expanded by the
+ * calling thread without forking.
+ *
+ * Like LadderSearch, a ParallelLadderSearch reuses its buffers between
+ * searches and must not be used by two threads at once.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class ParallelLadderSearch {
+
+   // The most frontier words a single task expands without splitting.
+   private static final int GRAIN = 512;
+
+   // The pool the tasks of each level run in.
+   private final ForkJoinPool pool;
+
+   // One bit per word, set once the word has been claimed by some task.
+   private AtomicLongArray visited = new AtomicLongArray(0);
+
+   // The parent of every claimed word.
+   private int[] parent = new int[0];
+
+   // The words of the level being expanded, and of the level being built.
+   private int[] frontier = new int[0];
+   private int[] next = new int[0];
+
+   // The number of words added to next so far.
+   private final AtomicInteger nextSize = new AtomicInteger();
+
+   // The number of words expanded by the current search.
+   private final AtomicInteger expanded = new AtomicInteger();
+
+   // Set once the target word has been claimed.
+   private volatile boolean found;
+
+   /**
+    * Creates a search that runs in the common fork-join pool.
+    */
+   public ParallelLadderSearch() {
+      this(ForkJoinPool.commonPool());
+   }
+
+   /**
+    * Creates a search that runs in the given fork-join pool.
+    *
+    * @param  pool the pool to expand each level in
+    */
+   public ParallelLadderSearch(ForkJoinPool pool) {
+      this.pool = pool;
+   }
+
+   /**
+    * Returns a minimum-length ladder between two words of the given graph,
+    * or an empty list if there is none.
+    *
+    * @param  graph  the partition holding both words
+    * @param  source the id of the start word
+    * @param  target the id of the end word
+    * @return        a minimum-length ladder from source to target
+    */
+   public List<String> getMinLadder(LadderGraph graph, int source, int target) {
+      reset(graph.size());
+      claim(source);
+      parent[source] = -1;
+      frontier[0] = source;
+      int size = 1;
+
+      while (size > 0 && !found) {
+         nextSize.set(0);
+         Expand level = new Expand(graph, 0, size, target);
+         if (size <= GRAIN) {
+            level.compute();
+         }
+         else {
+            pool.invoke(level);
+         }
+         int[] temp = frontier;
+         frontier = next;
+         next = temp;
+         size = nextSize.get();
+      }
+
+      if (found) {
+         return graph.ladder(parent, target);
+      }
+      return new ArrayList<>();
+   }
+
+   /**
+    * Returns the number of words expanded by the most recent search.
+    *
+    * @return the number of words expanded
+    */
+   public int getExpandedCount() {
+      return expanded.get();
+   }
+
+   /**
+    * Clears the buffers, making room for a graph of the given size.
+    */
+   private void reset(int size) {
+      if (parent.length < size) {
+         visited = new AtomicLongArray((size + 63) >>> 6);
+         parent = new int[size];
+         frontier = new int[size];
+         next = new int[size];
+      }
+      else {
+         for (int i = 0; i < visited.length(); i++) {
+            visited.set(i, 0L);
+         }
+      }
+      expanded.set(0);
+      found = false;
+   }
+
+   /**
+    * Marks the given word visited, returning true if this call was the one
+    * that marked it.
+    */
+   private boolean claim(int id) {
+      int index = id >>> 6;
+      long mask = 1L << id;
+      long bits = visited.get(index);
+      while ((bits & mask) == 0) {
+         if (visited.compareAndSet(index, bits, bits | mask)) {
+            return true;
+         }
+         bits = visited.get(index);
+      }
+      return false;
+   }
+
+   /**
+    * Expands frontier[from] through frontier[to - 1], splitting the range
+    * between subtasks while it is larger than GRAIN.
+    */
+   private class Expand extends RecursiveAction {
+      private static final long serialVersionUID = 1L;
+
+      private final LadderGraph graph;
+      private final int from;
+      private final int to;
+      private final int target;
+
+      Expand(LadderGraph graph, int from, int to, int target) {
+         this.graph = graph;
+         this.from = from;
+         this.to = to;
+         this.target = target;
+      }
+
+      @Override
+      protected void compute() {
+         if (to - from > GRAIN) {
+            int mid = (from + to) >>> 1;
+            invokeAll(new Expand(graph, from, mid, target),
+                      new Expand(graph, mid, to, target));
+            return;
+         }
+
+         int[] discovered = new int[64];
+         int count = 0;
+         int expandedHere = 0;
+         for (int i = from; i < to && !found; i++) {
+            int u = frontier[i];
+            expandedHere++;
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+               int v = graph.targets[e];
+               if (!claim(v)) {
+                  continue;
+               }
+               parent[v] = u;
+               if (v == target) {
+                  found = true;
+               }
+               if (count == discovered.length) {
+                  discovered = Arrays.copyOf(discovered, count * 2);
+               }
+               discovered[count++] = v;
+            }
+         }
+         expanded.addAndGet(expandedHere);
+         int start = nextSize.getAndAdd(count);
+         System.arraycopy(discovered, 0, next, start, count);
+      }
+   }
+}
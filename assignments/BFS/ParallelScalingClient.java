@@ -0,0 +1,97 @@
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ParallelScalingClient.java
+ * Reports how parallel breadth-first search scales with the number of
+ * threads. A synthetic lexicon of random words over a small alphabet is
+ * generated so that a single search level holds many thousands of words.
+ * The same ladders are then searched with 1, 2, 4, ... threads up to the
+ * number of available processors, alongside the sequential search.
+ *
+ * Usage: java ParallelScalingClient [wordLength alphabetSize wordCount]
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class ParallelScalingClient {
+
+   /** Number of ladders timed per thread count. */
+   private static final int LADDERS = 10;
+
+   /** Drives execution. */
+   public static void main(String[] args) throws IOException {
+      int wordLength = 10;
+      int alphabetSize = 4;
+      int wordCount = 500000;
+      if (args.length == 3) {
+         wordLength = Integer.parseInt(args[0]);
+         alphabetSize = Integer.parseInt(args[1]);
+         wordCount = Integer.parseInt(args[2]);
+      }
+   
+      Random rng = new Random(2210);
+      LadderIndex index = new LadderIndex(new ByteArrayInputStream(
+         generateWords(rng, wordLength, alphabetSize, wordCount)));
+      LadderGraph graph = index.partition(wordLength);
+      System.out.println(graph.size() + " words of length " + wordLength);
+   
+      int[][] pairs = new int[LADDERS][2];
+      for (int[] pair : pairs) {
+         pair[0] = rng.nextInt(graph.size());
+         pair[1] = rng.nextInt(graph.size());
+      }
+   
+      LadderSearch sequential = new LadderSearch();
+      time("sequential", pairs, graph, null, sequential);
+      int processors = Runtime.getRuntime().availableProcessors();
+      for (int threads = 1; threads <= processors; threads *= 2) {
+         ForkJoinPool pool = new ForkJoinPool(threads);
+         time(threads + " threads", pairs, graph,
+              new ParallelLadderSearch(pool), null);
+         pool.shutdown();
+      }
+   }
+
+   /** Times every ladder with one of the two searches and prints the total. */
+   private static void time(String label, int[][] pairs, LadderGraph graph,
+                            ParallelLadderSearch parallel, LadderSearch sequential) {
+      // run each search once before collecting timing data
+      search(pairs[0], graph, parallel, sequential);
+      double start = System.nanoTime();
+      int length = 0;
+      for (int[] pair : pairs) {
+         length += search(pair, graph, parallel, sequential).size();
+      }
+      double elapsedTime = (System.nanoTime() - start) / 1_000_000d;
+      System.out.print(label + "\t" + length + "\t");
+      System.out.printf("%4.3f\n", elapsedTime);
+   }
+
+   private static List<String> search(int[] pair, LadderGraph graph,
+                                      ParallelLadderSearch parallel,
+                                      LadderSearch sequential) {
+      if (parallel != null) {
+         return parallel.getMinLadder(graph, pair[0], pair[1]);
+      }
+      return sequential.getMinLadder(graph, graph.word(pair[0]),
+         graph.word(pair[1]), WordLadderGame.SearchMode.BREADTH_FIRST);
+   }
+
+   /** Returns a word list of random words, one per line. */
+   private static byte[] generateWords(Random rng, int wordLength,
+                                       int alphabetSize, int wordCount) {
+      StringBuilder words = new StringBuilder(wordCount * (wordLength + 1));
+      for (int i = 0; i < wordCount; i++) {
+         for (int j = 0; j < wordLength; j++) {
+            words.append((char) ('a' + rng.nextInt(alphabetSize)));
+         }
+         words.append('\n');
+      }
+      return words.toString().getBytes(StandardCharsets.US_ASCII);
+   }
+}
@@ -0,0 +1,46 @@
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * SnapshotClient.java
+ * Saves the ladder index built from a word list to a binary snapshot, then
+ * compares the time taken to build the index from the word list against the
+ * time taken to load it back from the snapshot.
+ *
+ * Usage: java SnapshotClient wordfile snapshotfile
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class SnapshotClient {
+
+   /** Drives execution. */
+   public static void main(String[] args) throws IOException {
+      if (args.length != 2) {
+         System.err.println("Usage: java SnapshotClient wordfile snapshotfile");
+         System.exit(1);
+      }
+      Path snapshot = Paths.get(args[1]);
+   
+      double start = System.nanoTime();
+      LadderIndex built = new LadderIndex(new FileInputStream(new File(args[0])));
+      double loadTime = (System.nanoTime() - start) / 1_000_000d;
+      start = System.nanoTime();
+      built.save(snapshot);
+      double saveTime = (System.nanoTime() - start) / 1_000_000d;
+   
+      start = System.nanoTime();
+      LadderIndex loaded = LadderIndex.load(snapshot);
+      double mapTime = (System.nanoTime() - start) / 1_000_000d;
+   
+      System.out.println("words\t" + built.getWordCount() + "\t" + loaded.getWordCount());
+      System.out.printf("read word list (ms)\t%4.3f\n", loadTime);
+      System.out.printf("build and save (ms)\t%4.3f\n", saveTime);
+      System.out.printf("load snapshot (ms)\t%4.3f\n", mapTime);
+      System.out.println(loaded.getMinLadder("cold", "warm",
+         WordLadderGame.SearchMode.BREADTH_FIRST));
+   }
+}
@@ -0,0 +1,107 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+/**
+ * ValidatorClient.java
+ * Runs a file of ladders, one per line, through LadderValidator and prints
+ * each failed line followed by the count of every verdict and the number
+ * of ladders checked per second.
+ *
+ * Usage: java ValidatorClient wordfile [ladderfile]
+ *
+ * With no ladder file, a sample of ladders between random words of the
+ * word file is generated, with some of them deliberately broken, and
+ * only the summary is printed.
+ *
+ * @author Spencer Downey
+ * @version 2018-11-20
+ */
+public class ValidatorClient {
+
+   /** Number of ladders in a generated sample. */
+   private static final int SAMPLE_SIZE = 200000;
+
+   /** Drives execution. */
+   public static void main(String[] args) throws IOException {
+      if (args.length < 1) {
+         System.err.println("Usage: java ValidatorClient wordfile [ladderfile]");
+         System.exit(1);
+      }
+      LadderIndex index = new LadderIndex(new FileInputStream(new File(args[0])));
+      LadderValidator validator = new LadderValidator(index);
+   
+      if (args.length > 1) {
+         PrintWriter failures = new PrintWriter(System.out);
+         LadderValidator.Report report =
+            validator.validate(new BufferedReader(new FileReader(args[1])), failures);
+         failures.flush();
+         System.out.println(report);
+         return;
+      }
+   
+      String sample = generateSample(index, args[0]);
+      // run once before collecting timing data
+      validator.validate(new BufferedReader(new StringReader(sample)), null);
+      System.out.println(validator.validate(
+         new BufferedReader(new StringReader(sample)), null));
+   }
+
+   /** Returns SAMPLE_SIZE ladders, one per line, some of them broken. */
+   private static String generateSample(LadderIndex index, String fileName)
+         throws IOException {
+      List<String> words = new ArrayList<>();
+      Scanner s = new Scanner(new File(fileName));
+      while (s.hasNext()) {
+         String word = s.next().toLowerCase();
+         if (word.length() >= 3 && word.length() <= 6) {
+            words.add(word);
+         }
+         s.nextLine();
+      }
+   
+      Random rng = new Random(2210);
+      List<String> ladders = new ArrayList<>();
+      while (ladders.size() < 500) {
+         String start = words.get(rng.nextInt(words.size()));
+         List<String> ends = index.getNeighbors(start);
+         if (ends.isEmpty()) {
+            continue;
+         }
+         String end = index.getNeighbors(ends.get(0)).get(0);
+         List<String> ladder = index.getMinLadder(start, end,
+            WordLadderGame.SearchMode.BIDIRECTIONAL);
+         if (ladder.size() > 1) {
+            ladders.add(String.join(" ", ladder));
+         }
+      }
+   
+      StringBuilder sample = new StringBuilder();
+      for (int i = 0; i < SAMPLE_SIZE; i++) {
+         String ladder = ladders.get(i % ladders.size());
+         switch (i % 10) {
+            case 7:
+               ladder = ladder + " zzzzzz";
+               break;
+            case 8:
+               ladder = ladder + " " + ladder.substring(0, ladder.indexOf(' '));
+               break;
+            case 9:
+               ladder = ladder + " q";
+               break;
+            default:
+               break;
+         }
+         sample.append(ladder).append('\n');
+      }
+      return sample.toString();
+   }
+}
@@ -21,6 +21,32 @@ import java.util.List;
  */
 public interface WordLadderGame {
 
+   /**
+    * The search strategies that getMinLadder can use. Every strategy returns
+    * a minimum-length word ladder; they differ only in how much of the lexicon
+    * they explore along the way.
+    */
+   enum SearchMode {
+      /** Breadth-first search outward from the start word. */
+      BREADTH_FIRST,
+      /**
+       * Breadth-first search from both the start and the end word, always
+       * expanding the smaller of the two frontiers.
+       */
+      BIDIRECTIONAL,
+      /**
+       * A* search from the start word, guided by the Hamming distance to the
+       * end word. Each step changes one letter, so the Hamming distance never
+       * overestimates the remaining ladder length.
+       */
+      A_STAR,
+      /**
+       * Breadth-first search from the start word that expands each level in
+       * parallel. Worthwhile only for very large lexicons.
+       */
+      PARALLEL_BREADTH_FIRST
+   }
+
    /**
     * Returns the Hamming distance between two strings, str1 and str2. The
     * Hamming distance between two strings of equal length is defined as the
@@ -87,4 +113,31 @@ public interface WordLadderGame {
     *                       false otherwise
     */
    boolean isWordLadder(List<String> sequence);
+
+
+   /**
+    * Selects the search strategy used by subsequent calls to getMinLadder.
+    *
+    * @param  mode the search strategy to use
+    * @throws IllegalArgumentException if mode is null
+    */
+   void setSearchMode(SearchMode mode);
+
+
+   /**
+    * Returns the search strategy currently used by getMinLadder.
+    *
+    * @return the current search strategy
+    */
+   SearchMode getSearchMode();
+
+
+   /**
+    * Returns the number of words whose neighbors were expanded by the most
+    * recent call to getMinLadder. This is a measure of the work done by the
+    * search and can be used to compare search strategies.
+    *
+    * @return the number of words expanded by the last search
+    */
+   int getExpandedCount();
 }
@@ -0,0 +1,60 @@
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * BatchBoggleClient.java
+ * Solves a batch of random boards with solveBoards and prints the batch's
+ * throughput and latencies, along with the words of the best board.
+ *
+ * Usage: java BatchBoggleClient [wordfile] [side] [boards]
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class BatchBoggleClient {
+
+   /** The letters of the dice, repeated by how often they appear. */
+   private static final String LETTERS =
+      "EEEEEEEEEEEEAAAAAAAAAIIIIIIIIIOOOOOOOONNNNNNRRRRRRTTTTTTLLLLSSSSUUUU"
+      + "DDDDGGGBBCCMMPPFFHHVVWWYYKJXQZ";
+
+   /** Drives execution. */
+   public static void main(String[] args) {
+      String fileName = args.length > 0 ? args[0] : "wordfiles/OWL.txt";
+      int side = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+      int count = args.length > 2 ? Integer.parseInt(args[2]) : 100000;
+   
+      WordSearchGame game = WordSearchGameFactory.createGame();
+      game.loadLexicon(fileName);
+      // warm up before collecting timing data
+      game.solveBoards(boards(side, count / 10, 1), 3, result -> { });
+   
+      BoardBatch.Result[] best = new BoardBatch.Result[1];
+      BoardBatch.Report report = game.solveBoards(boards(side, count, 2210), 3,
+         result -> {
+            if (best[0] == null || result.getScore() > best[0].getScore()) {
+               best[0] = result;
+            }
+         });
+      System.out.println(report);
+      System.out.print("best board " + best[0].getIndex() + " scores ");
+      System.out.println(best[0].getScore() + " with " + best[0].getWordCount() + " words:");
+      StringBuilder words = new StringBuilder();
+      for (int id : best[0].getWordIds()) {
+         words.append(game.getWord(id)).append(' ');
+      }
+      System.out.println(words.toString().trim());
+   }
+
+   /** Returns a stream of random boards, generated as they are taken. */
+   private static Stream<String[]> boards(int side, int count, long seed) {
+      Random rng = new Random(seed);
+      return Stream.generate(() -> {
+         String[] board = new String[side * side];
+         for (int i = 0; i < board.length; i++) {
+            board[i] = String.valueOf(LETTERS.charAt(rng.nextInt(LETTERS.length())));
+         }
+         return board;
+      }).limit(count);
+   }
+}
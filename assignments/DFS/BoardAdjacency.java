@@ -0,0 +1,95 @@
+import java.util.Arrays;
+
+/**
+ * The cells adjacent to each cell of a square board, precomputed for a
+ * board size.
+ *
+ * Cells are numbered in row-major order. The neighbors of cell c are
+ * targets[offsets[c]] through targets[offsets[c + 1] - 1], in the order of
+ * the rows above, beside and below c, left to right, so a search that walks
+ * them visits neighbors in the same order as one that loops over the eight
+ * offsets. A search therefore reads its neighbors from a table rather than
+ * checking the bounds of every offset at every step.
+ *
+ * Tables are immutable. The tables for boards of up to MAX_CACHED_SIDE
+ * cells on a side are built once and shared; a larger board gets a table of
+ * its own, built when it is asked for, so unusual sizes leave nothing
+ * behind.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class BoardAdjacency {
+
+   /** The largest side whose table is kept and shared. */
+   public static final int MAX_CACHED_SIDE = 16;
+
+   // TABLES[side] is the shared table for that side, or null until it is
+   // first requested. Two threads may both build a missing table; either
+   // copy serves, and the final fields of a table make it safe to publish
+   // this way.
+   private static final BoardAdjacency[] TABLES =
+      new BoardAdjacency[MAX_CACHED_SIDE + 1];
+
+   // The number of cells on each side of the board.
+   final int side;
+
+   // offsets[c] is the index in targets of the first neighbor of cell c.
+   final int[] offsets;
+
+   // The neighbors of every cell, grouped by cell.
+   final int[] targets;
+
+   /**
+    * Builds the table for boards with the given number of cells on a side.
+    */
+   private BoardAdjacency(int side) {
+      this.side = side;
+      int cells = side * side;
+      offsets = new int[cells + 1];
+      int[] found = new int[cells * 8];
+      int count = 0;
+      for (int cell = 0; cell < cells; cell++) {
+         int x = cell / side;
+         int y = cell % side;
+         for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+               if ((i != 0 || j != 0) && x + i >= 0 && x + i < side
+                     && y + j >= 0 && y + j < side) {
+                  found[count++] = (x + i) * side + y + j;
+               }
+            }
+         }
+         offsets[cell + 1] = count;
+      }
+      targets = Arrays.copyOf(found, count);
+   }
+
+   /**
+    * Returns the table for boards with the given number of cells on a side,
+    * shared if the side is at most MAX_CACHED_SIDE and new otherwise.
+    *
+    * @param side the number of cells on each side of the board
+    * @return the adjacency table for that size
+    */
+   public static BoardAdjacency forSide(int side) {
+      if (side > MAX_CACHED_SIDE) {
+         return new BoardAdjacency(side);
+      }
+      BoardAdjacency table = TABLES[side];
+      if (table == null) {
+         table = new BoardAdjacency(side);
+         TABLES[side] = table;
+      }
+      return table;
+   }
+
+   /**
+    * Returns the number of cells on the board.
+    *
+    * @return the number of cells
+    */
+   public int cells() {
+      return side * side;
+   }
+}
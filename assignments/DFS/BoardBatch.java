@@ -0,0 +1,431 @@
+import java.util.Iterator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Solves a stream of Boggle boards on a pool of worker threads.
+ *
+ * A BoardBatch keeps its pool of workers from one batch to the next, and
+ * each worker keeps one BoardSolver for as long as it lives, so the scratch
+ * a search needs is allocated once per thread rather than once per board or
+ * per batch. A worker left idle for a minute ends, and is started again when
+ * needed; workers are daemon threads, so an idle BoardBatch does not keep
+ * the program running. A
+ * board's words are reported as their numbers in the lexicon rather than as
+ * Strings, together with their score and the time the board took to solve.
+ * Workers hand each result back to the calling thread through a queue, and
+ * the caller's consumer is run there, so it never holds up a worker. Boards
+ * are taken from the stream only as workers become free, and solve
+ * times are counted in a histogram of fixed size rather than kept, so a
+ * batch of any size is solved in bounded memory. Each board is checked as
+ * it is taken; if one is invalid, or a board fails to solve with any
+ * exception or error, the boards already handed to workers are finished
+ * before it is thrown.
+ *
+ * A BoardBatch may be used for any number of batches, one at a time.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class BoardBatch {
+
+   /**
+    * The words found on one board of a batch.
+    */
+   public static class Result {
+      private final long index;
+      private final int[] wordIds;
+      private final int score;
+      private final long nanos;
+
+      Result(long index, int[] wordIds, int score, long nanos) {
+         this.index = index;
+         this.wordIds = wordIds;
+         this.score = score;
+         this.nanos = nanos;
+      }
+
+      /**
+       * Returns the position of the board in the batch, counting from 0.
+       *
+       * @return the index of the board
+       */
+      public long getIndex() {
+         return index;
+      }
+
+      /**
+       * Returns the numbers in the lexicon of the words found on the board,
+       * in increasing order, which is also alphabetical order. Each word
+       * can be looked up with Lexicon.word.
+       *
+       * @return the word numbers
+       */
+      public int[] getWordIds() {
+         return wordIds.clone();
+      }
+
+      /**
+       * Returns the number of words found on the board.
+       *
+       * @return the number of words
+       */
+      public int getWordCount() {
+         return wordIds.length;
+      }
+
+      /**
+       * Returns the total score of the words found on the board.
+       *
+       * @return the score
+       */
+      public int getScore() {
+         return score;
+      }
+
+      /**
+       * Returns the time taken to solve the board.
+       *
+       * @return the solve time in nanoseconds
+       */
+      public long getNanos() {
+         return nanos;
+      }
+   }
+
+   /**
+    * The totals from solving a batch of boards.
+    */
+   public static class Report {
+      private final long boards;
+      private final long words;
+      private final long elapsedNanos;
+      private final long p50Nanos;
+      private final long p99Nanos;
+
+      Report(long boards, long words, long elapsedNanos, long p50Nanos,
+             long p99Nanos) {
+         this.boards = boards;
+         this.words = words;
+         this.elapsedNanos = elapsedNanos;
+         this.p50Nanos = p50Nanos;
+         this.p99Nanos = p99Nanos;
+      }
+
+      /**
+       * Returns the number of boards solved.
+       *
+       * @return the number of boards
+       */
+      public long getBoardCount() {
+         return boards;
+      }
+
+      /**
+       * Returns the number of words found, over every board.
+       *
+       * @return the number of words
+       */
+      public long getWordCount() {
+         return words;
+      }
+
+      /**
+       * Returns the number of boards solved per second of wall time.
+       *
+       * @return the throughput in boards per second
+       */
+      public double getThroughput() {
+         return elapsedNanos == 0 ? 0 : boards * 1_000_000_000d / elapsedNanos;
+      }
+
+      /**
+       * Returns the median time taken to solve a board.
+       *
+       * @return the median solve time in nanoseconds
+       */
+      public long getP50Nanos() {
+         return p50Nanos;
+      }
+
+      /**
+       * Returns the time within which 99% of the boards were solved.
+       *
+       * @return the 99th percentile solve time in nanoseconds
+       */
+      public long getP99Nanos() {
+         return p99Nanos;
+      }
+
+      /**
+       * Returns the counts, throughput and latencies.
+       *
+       * @return a summary of the report
+       */
+      @Override
+      public String toString() {
+         return String.format("boards\t%d%nwords\t%d%nboards/sec\t%.0f%n"
+            + "p50 (us)\t%.1f%np99 (us)\t%.1f", boards, words, getThroughput(),
+            p50Nanos / 1000d, p99Nanos / 1000d);
+      }
+   }
+
+   // The number of worker threads.
+   private final int threads;
+
+   // How long a worker waits for a board before it ends, in seconds.
+   private static final long IDLE_SECONDS = 60;
+
+   // The worker threads, kept between batches.
+   private final ExecutorService pool;
+
+   // The solver of each worker thread.
+   private final ThreadLocal<BoardSolver> solvers;
+
+   /**
+    * Creates a batch solver for boards played with the given lexicon.
+    *
+    * @param lexicon the lexicon to find words in
+    * @param threads the number of worker threads
+    * @throws IllegalArgumentException if threads < 1
+    */
+   public BoardBatch(Lexicon lexicon, int threads) {
+      if (threads < 1) {
+         throw new IllegalArgumentException("Threads must be at least 1.");
+      }
+      this.threads = threads;
+      solvers = ThreadLocal.withInitial(() -> new BoardSolver(lexicon));
+      ThreadPoolExecutor workers = new ThreadPoolExecutor(threads, threads,
+         IDLE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(),
+         task -> {
+            Thread worker = new Thread(task, "BoardBatch worker");
+            worker.setDaemon(true);
+            return worker;
+         });
+      workers.allowCoreThreadTimeOut(true);
+      pool = workers;
+   }
+
+   /**
+    * Solves every board in the stream, passing each board's result to
+    * results as soon as it is solved. Results are passed one at a time on
+    * the calling thread, which takes them from the workers as they finish,
+    * so a slow consumer holds up no worker. They are not necessarily in the
+    * order of the boards; each carries the index of its board.
+    *
+    * @param boards the boards, each as its tiles in row-major order
+    * @param minimumWordLength the fewest letters a word may have
+    * @param results receives the result of every board
+    * @return the counts, throughput and latencies of the batch
+    * @throws IllegalArgumentException if minimumWordLength < 1, or if a
+    *     board is null, not square or has a null tile
+    */
+   public Report solve(Stream<String[]> boards, int minimumWordLength,
+                       Consumer<Result> results) {
+      if (minimumWordLength < 1) {
+         throw new IllegalArgumentException("Invalid Number");
+      }
+      BlockingQueue<Outcome> finished = new LinkedBlockingQueue<>();
+      int limit = threads * 4;
+      Tally tally = new Tally(results);
+      long start = System.nanoTime();
+      try {
+         long index = 0;
+         Iterator<String[]> it = boards.iterator();
+         while (it.hasNext() && tally.failure == null) {
+            // resolving the tiles checks the board before any worker sees it
+            BoardTiles board = new BoardTiles(it.next());
+            long boardIndex = index++;
+            if (tally.pending == limit) {
+               tally.receive(take(finished));
+            }
+            tally.pending++;
+            pool.execute(() -> finished.add(solveOne(boardIndex, board,
+                                                     minimumWordLength)));
+         }
+         while (tally.pending > 0) {
+            tally.receive(take(finished));
+         }
+      }
+      finally {
+         // boards still out if the stream or a board threw are let finish
+         for (; tally.pending > 0; tally.pending--) {
+            take(finished);
+         }
+      }
+      long elapsed = System.nanoTime() - start;
+      if (tally.failure != null) {
+         rethrow(tally.failure);
+      }
+      return new Report(tally.boards, tally.words, elapsed,
+                        tally.percentile(50), tally.percentile(99));
+   }
+
+   /**
+    * Solves one board on a worker, returning its result or what was thrown.
+    */
+   private Outcome solveOne(long index, BoardTiles board, int minimumWordLength) {
+      try {
+         return new Outcome(solvers.get().solveIds(index, board,
+                                                   minimumWordLength), null);
+      }
+      catch (Throwable e) {
+         return new Outcome(null, e);
+      }
+   }
+
+   /**
+    * Takes the next outcome a worker has finished, keeping the thread's
+    * interrupt status if it is interrupted while waiting.
+    */
+   private static Outcome take(BlockingQueue<Outcome> finished) {
+      boolean interrupted = false;
+      try {
+         while (true) {
+            try {
+               return finished.take();
+            }
+            catch (InterruptedException e) {
+               interrupted = true;
+            }
+         }
+      }
+      finally {
+         if (interrupted) {
+            Thread.currentThread().interrupt();
+         }
+      }
+   }
+
+   /**
+    * Throws the failure of a worker as it was thrown. Workers only throw
+    * unchecked exceptions and errors; anything else is wrapped.
+    */
+   private static void rethrow(Throwable failure) {
+      if (failure instanceof RuntimeException) {
+         throw (RuntimeException) failure;
+      }
+      if (failure instanceof Error) {
+         throw (Error) failure;
+      }
+      throw new IllegalStateException(failure);
+   }
+
+   /**
+    * What a worker hands back for one board: its result, or what it threw.
+    */
+   private static class Outcome {
+      private final Result result;
+      private final Throwable failure;
+
+      Outcome(Result result, Throwable failure) {
+         this.result = result;
+         this.failure = failure;
+      }
+   }
+
+   /**
+    * Collects the results of a batch on the calling thread as it takes
+    * them from the workers, passing each on to the caller's consumer until
+    * a board or the consumer fails.
+    *
+    * Solve times are counted in a log-linear histogram: values below 32 ns
+    * have a bucket each, and every power of two above that is split into
+    * 16 buckets of equal width, so a percentile read from the histogram is
+    * within 1/16 of the true value while the histogram never grows.
+    */
+   private static class Tally {
+
+      // The number of bits of a value, after its leading one, that pick its
+      // bucket within its power of two.
+      private static final int SUB_BITS = 4;
+      private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+      // Enough buckets for every non-negative long.
+      private static final int BUCKETS = (64 - SUB_BITS) << SUB_BITS;
+
+      private final Consumer<Result> results;
+      private final long[] counts = new long[BUCKETS];
+      private long max;
+      private long boards;
+      private long words;
+      private Throwable failure;
+
+      // The number of boards handed to workers and not yet received.
+      private int pending;
+
+      Tally(Consumer<Result> results) {
+         this.results = results;
+      }
+
+      void receive(Outcome outcome) {
+         pending--;
+         if (failure != null) {
+            return;
+         }
+         if (outcome.failure != null) {
+            failure = outcome.failure;
+            return;
+         }
+         Result result = outcome.result;
+         long nanos = result.getNanos();
+         counts[bucket(nanos)]++;
+         max = Math.max(max, nanos);
+         boards++;
+         words += result.getWordCount();
+         try {
+            results.accept(result);
+         }
+         catch (Throwable e) {
+            failure = e;
+         }
+      }
+
+      /**
+       * Returns the nearest-rank percentile of the solve times, as the
+       * highest value of the bucket it falls in but no more than the
+       * slowest time, or 0 if no board was solved.
+       */
+      long percentile(int percent) {
+         if (boards == 0) {
+            return 0;
+         }
+         long rank = Math.max(1, (long) Math.ceil(percent / 100d * boards));
+         long seen = 0;
+         int i = 0;
+         while ((seen += counts[i]) < rank) {
+            i++;
+         }
+         return Math.min(highest(i), max);
+      }
+
+      /**
+       * Returns the bucket counting the given non-negative value.
+       */
+      static int bucket(long value) {
+         if (value < SUB_BUCKETS) {
+            return (int) value;
+         }
+         int exponent = 63 - Long.numberOfLeadingZeros(value);
+         int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+         return ((exponent - SUB_BITS + 1) << SUB_BITS) + sub;
+      }
+
+      /**
+       * Returns the highest value counted by the given bucket.
+       */
+      static long highest(int bucket) {
+         if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+         }
+         int shift = (bucket >>> SUB_BITS) - 1;
+         long lowest = (long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1))) << shift;
+         return lowest + (1L << shift) - 1;
+      }
+   }
+}
@@ -0,0 +1,230 @@
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Finds the words of a lexicon on a Boggle board by depth-first search,
+ * walking the lexicon one letter at a time alongside the board.
+ *
+ * The board's tiles are resolved to letter codes once, as BoardTiles, so
+ * a tile of several letters such as "Qu" takes the same path through the
+ * search as a tile of one, and no tile is converted during a search.
+ * Neighbors are read from the board size's BoardAdjacency table, so the
+ * search never checks bounds. The cells on the current path are tracked as
+ * a bitmask with one bit per cell. On a board of at most 64 cells, which
+ * covers 4x4 through 8x8, the mask is a single long passed down the
+ * recursion by value, so it lives in a register and needs no undoing when a
+ * step returns. Larger boards use a long array. A solver keeps its array
+ * and letter buffer between calls, growing them only when a larger board or
+ * longer word needs it, so one solver can be reused for any number of
+ * boards.
+ *
+ * A BoardSolver must not be used by two threads at once; a search that runs
+ * on several threads gives each its own solver.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class BoardSolver {
+
+   // The lexicon words are looked up in.
+   private final Lexicon lexicon;
+
+   // One bit per cell of a board larger than 64 cells, set while the cell
+   // is on the path.
+   private long[] visited = new long[1];
+
+   // The letters of the current path.
+   private char[] letters = new char[16];
+
+   // The board being solved, its adjacency, the shortest word kept, and
+   // where words are added, for the duration of one call to solve. Words
+   // are added to found instead when words is null.
+   private BoardTiles board;
+   private BoardAdjacency adjacency;
+   private int minLength;
+   private Collection<String> words;
+
+   // The words found by solveIds, each as its number in the high 32 bits and
+   // its length in the low 32 bits, repeated once per path that spells it.
+   private long[] found = new long[64];
+   private int foundCount;
+
+   /**
+    * Creates a solver for boards played with the given lexicon.
+    *
+    * @param lexicon the lexicon to find words in
+    */
+   public BoardSolver(Lexicon lexicon) {
+      this.lexicon = lexicon;
+   }
+
+   /**
+    * Adds every word of at least minLength letters that can be spelled by a
+    * path starting at one of the cells from through to - 1 to words, in
+    * uppercase.
+    *
+    * @param board the tiles of the board
+    * @param from the first starting cell
+    * @param to one past the last starting cell
+    * @param minLength the fewest letters a word may have
+    * @param words the collection to add the words found to
+    */
+   public void solve(BoardTiles board, int from, int to, int minLength,
+                     Collection<String> words) {
+      search(board, from, to, minLength, words);
+   }
+
+   /**
+    * Searches from the cells from through to - 1, adding the words found to
+    * words, or to found if words is null.
+    */
+   private void search(BoardTiles board, int from, int to, int minLength,
+                       Collection<String> words) {
+      this.board = board;
+      this.adjacency = BoardAdjacency.forSide(board.side);
+      this.minLength = minLength;
+      this.words = words;
+      int cells = board.cells();
+      if (cells <= 64) {
+         for (int cell = from; cell < to; cell++) {
+            extend(lexicon.root(), cell, 0, 0L);
+         }
+      }
+      else {
+         int blocks = (cells + 63) >>> 6;
+         if (visited.length < blocks) {
+            visited = new long[blocks];
+         }
+         else {
+            Arrays.fill(visited, 0L);
+         }
+         for (int cell = from; cell < to; cell++) {
+            extend(lexicon.root(), cell, 0);
+         }
+      }
+      this.board = null;
+      this.words = null;
+   }
+
+   /**
+    * Finds every word of at least minLength letters on the board and returns
+    * them as their numbers in the lexicon, along with their total score. No
+    * String is created. Each word scores one point plus one for every letter
+    * past minLength, as in WordSearchGame.getScoreForWords.
+    *
+    * @param index the position of the board in its batch
+    * @param board the tiles of the board
+    * @param minLength the fewest letters a word may have
+    * @return the numbers of the distinct words found, in increasing order,
+    *     and their score
+    */
+   public BoardBatch.Result solveIds(long index, BoardTiles board,
+                                     int minLength) {
+      long start = System.nanoTime();
+      foundCount = 0;
+      search(board, 0, board.cells(), minLength, null);
+      Arrays.sort(found, 0, foundCount);
+      int[] ids = new int[foundCount];
+      int count = 0;
+      int score = 0;
+      for (int i = 0; i < foundCount; i++) {
+         int id = (int) (found[i] >>> 32);
+         if (count == 0 || ids[count - 1] != id) {
+            ids[count++] = id;
+            score += 1 + (int) found[i] - minLength;
+         }
+      }
+      return new BoardBatch.Result(index, Arrays.copyOf(ids, count), score,
+                                   System.nanoTime() - start);
+   }
+
+   /**
+    * Extends the path spelling the prefix at node, depth letters long, by
+    * the given cell, on a board of at most 64 cells whose path so far is
+    * the set bits of path.
+    */
+   private void extend(int node, int cell, int depth, long path) {
+      node = spell(node, cell, depth);
+      if (node == -1) {
+         return;
+      }
+      depth += board.offsets[cell + 1] - board.offsets[cell];
+      accept(node, depth);
+
+      path |= 1L << cell;
+      int[] targets = adjacency.targets;
+      for (int e = adjacency.offsets[cell]; e < adjacency.offsets[cell + 1]; e++) {
+         int next = targets[e];
+         if ((path & (1L << next)) == 0) {
+            extend(node, next, depth, path);
+         }
+      }
+   }
+
+   /**
+    * Extends the path spelling the prefix at node, depth letters long, by
+    * the given cell, on a board of any size whose path so far is marked in
+    * visited.
+    */
+   private void extend(int node, int cell, int depth) {
+      node = spell(node, cell, depth);
+      if (node == -1) {
+         return;
+      }
+      depth += board.offsets[cell + 1] - board.offsets[cell];
+      accept(node, depth);
+
+      visited[cell >>> 6] |= 1L << cell;
+      int[] targets = adjacency.targets;
+      for (int e = adjacency.offsets[cell]; e < adjacency.offsets[cell + 1]; e++) {
+         int next = targets[e];
+         if ((visited[next >>> 6] & (1L << next)) == 0) {
+            extend(node, next, depth);
+         }
+      }
+      visited[cell >>> 6] &= ~(1L << cell);
+   }
+
+   /**
+    * Follows the letters of the cell's tile from node, writing them to the
+    * letter buffer after the first depth letters. Returns the node reached,
+    * or -1 if the tile is dead or no word continues with it.
+    */
+   private int spell(int node, int cell, int depth) {
+      if (board.dead[cell]) {
+         return -1;
+      }
+      byte[] codes = board.letters;
+      int end = board.offsets[cell + 1];
+      for (int k = board.offsets[cell]; k < end; k++) {
+         node = lexicon.child(node, codes[k]);
+         if (node == -1) {
+            return -1;
+         }
+         if (depth == letters.length) {
+            letters = Arrays.copyOf(letters, depth * 2);
+         }
+         letters[depth++] = (char) ('a' + codes[k]);
+      }
+      return node;
+   }
+
+   /**
+    * Adds the first depth letters of the buffer to the words, or their
+    * number to found, if node ends a word at least minLength letters long.
+    */
+   private void accept(int node, int depth) {
+      if (lexicon.isWord(node) && depth >= minLength) {
+         if (words != null) {
+            words.add(new String(letters, 0, depth).toUpperCase());
+         }
+         else {
+            if (foundCount == found.length) {
+               found = Arrays.copyOf(found, foundCount * 2);
+            }
+            found[foundCount++] =
+               ((long) lexicon.indexOf(letters, depth) << 32) | depth;
+         }
+      }
+   }
+}
@@ -0,0 +1,152 @@
+import java.util.Arrays;
+
+/**
+ * The tiles of a Boggle board, resolved to letter codes once when the board
+ * is set so that a search never looks at a String. A single tile can later
+ * be changed in place, moving only the letters of the cells after it.
+ *
+ * Cells are numbered in row-major order. The letters of cell c are
+ * letters[offsets[c]] through letters[offsets[c + 1] - 1], each as 0 for a
+ * through 25 for z, so a tile of several letters such as "Qu" is walked
+ * exactly like a run of single-letter tiles. A tile that is empty or has a
+ * character other than a letter of the alphabet can start or continue no
+ * word; it is marked dead and has no letters.
+ *
+ * A BoardTiles is changed only by setTile. Any number of threads may search
+ * it at once, but not while it is being changed.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class BoardTiles {
+
+   // The number of cells on each side of the board.
+   final int side;
+
+   // offsets[c] is the index in letters of the first letter of cell c.
+   final int[] offsets;
+
+   // The letter codes of every tile, grouped by cell. Any room past
+   // offsets[cells()] is unused.
+   byte[] letters;
+
+   // Whether each cell's tile can be on no word.
+   final boolean[] dead;
+
+   /**
+    * Resolves the given tiles, in either case.
+    *
+    * @param tiles the tiles of the board in row-major order
+    * @throws IllegalArgumentException if tiles is null, not square or has a
+    *     null tile
+    */
+   public BoardTiles(String[] tiles) {
+      if (tiles == null) {
+         throw new IllegalArgumentException("Incorrect Entry");
+      }
+      side = (int) Math.sqrt(tiles.length);
+      if (side * side != tiles.length) {
+         throw new IllegalArgumentException("Incorrect Entry");
+      }
+      int total = 0;
+      for (String tile : tiles) {
+         if (tile == null) {
+            throw new IllegalArgumentException("Incorrect Entry");
+         }
+         total += tile.length();
+      }
+      offsets = new int[tiles.length + 1];
+      byte[] codes = new byte[total];
+      dead = new boolean[tiles.length];
+      int count = 0;
+      for (int cell = 0; cell < tiles.length; cell++) {
+         String tile = tiles[cell];
+         dead[cell] = !isLetters(tile);
+         if (!dead[cell]) {
+            resolve(tile, codes, count);
+            count += tile.length();
+         }
+         offsets[cell + 1] = count;
+      }
+      letters = codes;
+   }
+
+   /**
+    * Changes the tile of one cell, in either case. The letters of the cells
+    * after it are moved along if the new tile has a different number of
+    * letters; no other cell is resolved again.
+    *
+    * @param cell the cell to change, in row-major order
+    * @param tile the new tile
+    * @throws IllegalArgumentException if cell is not on the board or tile is
+    *     null
+    */
+   public void setTile(int cell, String tile) {
+      if (cell < 0 || cell >= dead.length || tile == null) {
+         throw new IllegalArgumentException("Incorrect Entry");
+      }
+      boolean isDead = !isLetters(tile);
+      int start = offsets[cell];
+      int end = offsets[cell + 1];
+      int shift = (isDead ? 0 : tile.length()) - (end - start);
+      if (shift != 0) {
+         int used = offsets[dead.length];
+         if (used + shift > letters.length) {
+            letters = Arrays.copyOf(letters, Math.max(used + shift,
+                                                      letters.length * 2));
+         }
+         System.arraycopy(letters, end, letters, end + shift, used - end);
+         for (int c = cell + 1; c <= dead.length; c++) {
+            offsets[c] += shift;
+         }
+      }
+      if (!isDead) {
+         resolve(tile, letters, start);
+      }
+      dead[cell] = isDead;
+   }
+
+   /**
+    * Returns true if the tile is not empty and has only letters of the
+    * alphabet, in either case.
+    */
+   private static boolean isLetters(String tile) {
+      if (tile.isEmpty()) {
+         return false;
+      }
+      for (int k = 0; k < tile.length(); k++) {
+         int letter = Character.toLowerCase(tile.charAt(k)) - 'a';
+         if (letter < 0 || letter >= 26) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Writes the letter codes of a tile of letters into codes from index at.
+    */
+   private static void resolve(String tile, byte[] codes, int at) {
+      for (int k = 0; k < tile.length(); k++) {
+         codes[at + k] = (byte) (Character.toLowerCase(tile.charAt(k)) - 'a');
+      }
+   }
+
+   /**
+    * Returns the number of cells on each side of the board.
+    *
+    * @return the side length
+    */
+   public int side() {
+      return side;
+   }
+
+   /**
+    * Returns the number of cells on the board.
+    *
+    * @return the number of cells
+    */
+   public int cells() {
+      return dead.length;
+   }
+}
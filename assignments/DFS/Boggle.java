@@ -1,9 +1,12 @@
-import java.io.FileReader;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
-import java.util.Scanner;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
 * This program is for the word game Boggle.
@@ -12,28 +15,47 @@ import java.util.TreeSet;
 * @version 11/14/2018
 */
 public class Boggle implements WordSearchGame {
-   private TreeSet<String> lexicon; 
-   private List<Integer> path;
-   private List<Integer> actualPath;
+   private Lexicon lexicon;
+   private LexiconCache lexicons;
    private int length;
    private String[][] board;
-   private Boolean[][]visited;
+   private String[] tiles;
+   private BoardTiles boardTiles;
    private SortedSet<String> validWords;
-   private int minLength;
+   private BoardSolver solver;
+   private IncrementalSolver tracker;
+   private boolean tracking;
+   private SortedSet<String> trackedWords;
+   private SortedSet<String> trackedView;
+   private int lastMinimum;
+   private WordPathFinder pathFinder;
+   private ForkJoinPool pool;
+   private BoardBatch batch;
    private boolean lexiconLoaded;
 
 /**
 * The constructor for Boggle.
 */
    public Boggle() {
-      lexicon = new TreeSet<String>();
-      path = new ArrayList<Integer>();
       validWords = new TreeSet<String>();
-      actualPath = new ArrayList<Integer>();
+      trackedWords = new TreeSet<String>();
+      trackedView = Collections.unmodifiableSortedSet(trackedWords);
+      pathFinder = new WordPathFinder();
    }
 
 /**
-* Loads the lexicon.
+* The constructor for a Boggle game that shares its lexicons with other games.
+* @param lexiconCache is the cache loadLexicon gets lexicons from.
+*/
+   public Boggle(LexiconCache lexiconCache) {
+      this();
+      lexicons = lexiconCache;
+   }
+
+/**
+* Loads the lexicon from a word file, or opens it from a snapshot saved by
+* Lexicon.save without copying it onto the heap. A game with a lexicon cache
+* takes the lexicon from the cache, loading it only if no game has yet.
 * @param fileName is the file title to be loaded.
 * @throws IllegalArgumentException if fileName is null or cant be loaded.
 */
@@ -41,22 +63,20 @@ public class Boggle implements WordSearchGame {
       if (fileName == null) {
          throw new IllegalArgumentException("Incorrect entry");
       }
-      Scanner fileScan;
-      Scanner lineScanner;
-      String line;
       try {
-         fileScan = new Scanner(new FileReader(fileName));
-         while (fileScan.hasNext()) {
-            line = fileScan.nextLine();
-            lineScanner = new Scanner(line);
-            lineScanner.useDelimiter(" ");
-            while (lineScanner.hasNext()) {
-               lexicon.add(lineScanner.next().toLowerCase());
-            }
-         
+         if (lexicons != null) {
+            lexicon = lexicons.get(fileName);
          }
+         else {
+            lexicon = Lexicon.load(fileName);
+         }
+         solver = new BoardSolver(lexicon);
+         batch = null;
+         tracker = null;
+         tracking = false;
+         lastMinimum = 0;
       } 
-      catch (Exception e) {
+      catch (IOException e) {
          throw new IllegalArgumentException("Incorrect entry");
       }
    
@@ -83,26 +103,67 @@ public class Boggle implements WordSearchGame {
       else {
          length = (int) dimension;
          board = new String[length][length];
-         visited = new Boolean[length][length];
+         tiles = new String[letterArray.length];
          int count = 0;
          for (int i = 0; i < length; i++) {
             for (int j = 0; j < length; j++) {
-               visited[i][j] = false;
                board[i][j] = letterArray[count].toLowerCase();
+               tiles[count] = board[i][j];
                count++;
             }
          }
+         boardTiles = new BoardTiles(tiles);
+         tracking = false;
+         lastMinimum = 0;
+      }
+   }
+
+/**
+* Changes one tile of the board. After getAllValidWords has been called, the
+* words are tracked from then on: the first change records the path of every
+* word, and each change after that only searches through the changed tile.
+* @param position is the tile to change in row-major order.
+* @param tile is the new letters of the tile.
+* @throws IllegalArgumentException no board, position off the board, tile null.
+* @throws IllegalStateException lexiconLoaded false.
+*/
+   public void setTile(int position, String tile) {
+   
+      if (!lexiconLoaded) {
+         throw new IllegalStateException("Load lexicon");
+      }
+      if (tiles == null || position < 0 || position >= tiles.length
+         || tile == null) {
+         throw new IllegalArgumentException("Incorrect Entry");
+      }
+      
+      board[position / length][position % length] = tile.toLowerCase();
+      tiles[position] = tile.toLowerCase();
+      if (tracking) {
+         // the tracker changes the shared boardTiles in place
+         tracker.setTile(position, tiles[position]);
+         return;
+      }
+      boardTiles.setTile(position, tiles[position]);
+      if (lastMinimum > 0) {
+         if (tracker == null) {
+            tracker = new IncrementalSolver(lexicon);
+         }
+         tracker.setBoard(boardTiles, lastMinimum);
+         trackedWords.clear();
+         tracking = true;
       }
    }
 
 /**
 * FInds words on the board that are in the lexicon.
 * @param minimumWordLength is the min length of the words.
-* @return validWords is the list of the words on the board.
+* @return validWords is the list of the words on the board. While the words
+* are tracked after setTile, this is a view of the tracked words that cannot
+* be changed.
 * @throws IllegalArgumentException min < 1, lexiconLoaded false.
 */
-   public SortedSet getAllValidWords(int minimumWordLength) {
-      minLength = minimumWordLength;
+   public SortedSet<String> getAllValidWords(int minimumWordLength) {
       validWords.clear();
       
       if (!lexiconLoaded) {
@@ -112,14 +173,52 @@ public class Boggle implements WordSearchGame {
          throw new IllegalArgumentException("Invalid Number");
       }
       
-      for (int i = 0; i < length; i++) {
-         for (int j = 0; j < length; j++) {
-            locateWord(board[i][j], i, j);
-         }
+      if (boardTiles == null) {
+         return validWords;
+      }
+      if (tracking && tracker.getMinLength() == minimumWordLength) {
+         updateTrackedWords();
+         return trackedView;
+      }
+      tracking = false;
+      lastMinimum = minimumWordLength;
+      if (pool == null) {
+         solver.solve(boardTiles, 0, tiles.length, minimumWordLength,
+            validWords);
+      }
+      else {
+         new ParallelBoardSolver(lexicon, pool).solve(boardTiles,
+            minimumWordLength, validWords);
       }
       return validWords;
    }
 
+/**
+* Brings the tracked words up to date with the tracker, spelling out only the
+* words that have come or gone since they were last brought up to date.
+*/
+   private void updateTrackedWords() {
+      for (int id : tracker.takeChangedWordIds()) {
+         if (tracker.hasWord(id)) {
+            trackedWords.add(getWord(id));
+         }
+         else {
+            trackedWords.remove(getWord(id));
+         }
+      }
+   }
+
+/**
+* Sets the pool getAllValidWords fans the starting cells out over. Each
+* starting cell is searched by its own task with its own visited cells and
+* words, and the words are merged when every task is done.
+* @param forkJoinPool is the pool to solve boards in, or null to solve them
+* on the calling thread.
+*/
+   public void setPool(ForkJoinPool forkJoinPool) {
+      pool = forkJoinPool;
+   }
+
 /**
 * Finds if the word is in the lexicon.
 * @param wordToCheck The word to check.
@@ -136,7 +235,7 @@ public class Boggle implements WordSearchGame {
          throw new IllegalArgumentException("Invalid word");
       }
    
-      return lexicon.contains(wordToCheck.toLowerCase());
+      return lexicon.contains(wordToCheck);
    }
 
 /**
@@ -155,17 +254,12 @@ public class Boggle implements WordSearchGame {
          throw new IllegalArgumentException("Invalid word");
       }
       
-      String l = lexicon.ceiling(prefixToCheck);
-      
-      if (l == null) {
-         return false;
-      }
-      
-      return l.startsWith(prefixToCheck);
+      return lexicon.hasPrefix(prefixToCheck);
    }
 
 /**
-* Sees if the word is on the board.
+* Sees if the word is on the board, matching it against the tiles letter by
+* letter. The word does not have to be in the lexicon.
 * @param wordToCheck The word to check
 * @return path is the path of the word on the board.
 * @throws IllegalArgumentException wordToCheck null, lexiconLoaded false.
@@ -180,96 +274,15 @@ public class Boggle implements WordSearchGame {
          throw new IllegalArgumentException("Invalid word");
       }
       
-      path.clear();
-      actualPath.clear();
-   
-      for (int i = 0; i < (int) length; i++) {
-         for (int j = 0; j < length; j++) {
-            if (Character.toUpperCase(board[i][j].charAt(0))
-               == Character.toUpperCase(wordToCheck.charAt(0))) {
-               int value = j + (i * length);
-               path.add(value);
-               recursion(wordToCheck, board[i][j], i, j);
-               if (!actualPath.isEmpty()) {
-                  return actualPath;
-               }
-               path.clear();
-               actualPath.clear();
-            }
-         }
-      }
-      return path;
-   }
-
-/**
-* This finds the word in the getAllValidWords method.
-* @param word is the word.
-* @param x is the x value of the word.
-* @param y is the y value of the word.
-*/
-   public void locateWord(String word, int x, int y) {
-   
-      if (!isValidPrefix(word)) {
-         return;
+      List<Integer> path = new ArrayList<Integer>();
+      if (tiles == null) {
+         return path;
       }
-   
-      visited[x][y] = true;
-   
-      if (isValidWord(word) && word.length() >= minLength) {
-         validWords.add(word.toUpperCase());
-      }
-   
-      for (int i = -1; i <= 1; i++) {
-         for (int j = -1; j <= 1; j++) {
-            if ((x + i) <= ((int) length - 1)
-               && (y + j) <= ((int) length - 1)
-               && (x + i) >= 0 && (y + j) >= 0 && !visited[x + i][y + j]) {
-               visited[x + i][y + j] = true;
-               locateWord(word + board[x + i][y + j], x + i, y + j);
-               visited[x + i][y + j] = false;
-            }
-         }
-      }
-      visited[x][y] = false;
-   }
-
-/**
-* This method is the recursion for isOnBoard.
-* @param wordToCheck is the word to check.
-* @param current is the current word your're using.
-* @param x is the current x value.
-* @param y is the current y value.
-*/
-   public void recursion(String wordToCheck, String current, int x, int y) {
-   
-      visited[x][y] = true;
-      if (!(isValidPrefix(current))) {
-         return;
-      }
-      if (current.toUpperCase().equals(wordToCheck.toUpperCase())) {
-         actualPath = new ArrayList(path);
-         return;
-      }
-      for (int i = -1; i <= 1; i++) {
-         for (int j = -1; j <= 1; j++) {
-            if (current.equals(wordToCheck)) {
-               return;
-            }
-            if ((x + i) <= (length - 1)
-               && (y + j) <= (length - 1)
-               && (x + i) >= 0 && (y + j) >= 0 && !visited[x + i][y + j]) {
-               visited[x + i][y + j] = true;
-               int value = (x + i) * length + y + j;
-               path.add(value);
-               recursion(wordToCheck, current
-                  + board[x + i][y + j], x + i, y + j);
-               visited[x + i][y + j] = false;
-               path.remove(path.size() - 1);
-            }
-         }
+      int cells = pathFinder.find(tiles, length, wordToCheck);
+      for (int i = 0; i < cells; i++) {
+         path.add(pathFinder.cellAt(i));
       }
-      visited[x][y] = false;
-      return;
+      return path;
    }
 
 /**
@@ -298,6 +311,47 @@ public class Boggle implements WordSearchGame {
       return score;
    }
 
+/**
+* Solves a stream of boards on one worker thread per processor, each worker
+* reusing its own solver from board to board. The workers and their solvers
+* are kept for later calls until another lexicon is loaded.
+* @param boards is the boards to solve.
+* @param minimumWordLength is the min length of the words.
+* @param results is given the word ids and score of each board.
+* @return the throughput and latencies of the batch.
+* @throws IllegalArgumentException min < 1, board null or not square.
+* @throws IllegalStateException lexiconLoaded false.
+*/
+   public BoardBatch.Report solveBoards(Stream<String[]> boards,
+      int minimumWordLength, Consumer<BoardBatch.Result> results) {
+   
+      if (!lexiconLoaded) {
+         throw new IllegalStateException("Load lexicon");
+      }
+   
+      if (batch == null) {
+         int threads = Runtime.getRuntime().availableProcessors();
+         batch = new BoardBatch(lexicon, threads);
+      }
+      return batch.solve(boards, minimumWordLength, results);
+   }
+
+/**
+* Gets the word with the given id, as reported by solveBoards.
+* @param wordId is the id of the word.
+* @return the word in uppercase.
+* @throws IllegalArgumentException no word has the id.
+* @throws IllegalStateException lexiconLoaded false.
+*/
+   public String getWord(int wordId) {
+   
+      if (!lexiconLoaded) {
+         throw new IllegalStateException("Load lexicon");
+      }
+   
+      return lexicon.word(wordId).toUpperCase();
+   }
+
 /**
 * Prints the board into a single string.
 * @return result is the string of the board.
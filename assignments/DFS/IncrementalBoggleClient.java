@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * IncrementalBoggleClient.java
+ * Times re-scoring a random board after each of a run of single-tile
+ * changes, solving the whole board again after every change, tracking the
+ * words through Boggle.setTile, and using an IncrementalSolver on its own.
+ * Before timing, the three modes are run side by side and the words each
+ * finds are compared after every change.
+ *
+ * Usage: java IncrementalBoggleClient [wordfile] [side] [changes]
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class IncrementalBoggleClient {
+
+   /** The letters of the dice, repeated by how often they appear. */
+   private static final String LETTERS =
+      "EEEEEEEEEEEEAAAAAAAAAIIIIIIIIIOOOOOOOONNNNNNRRRRRRTTTTTTLLLLSSSSUUUU"
+      + "DDDDGGGBBCCMMPPFFHHVVWWYYKJXQZ";
+
+   /** Drives execution. */
+   public static void main(String[] args) throws IOException {
+      String fileName = args.length > 0 ? args[0] : "wordfiles/OWL.txt";
+      int side = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+      int count = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+      Random rng = new Random(2210);
+      String[] start = new String[side * side];
+      for (int i = 0; i < start.length; i++) {
+         start[i] = randomTile(rng);
+      }
+      int[] cells = new int[count];
+      String[] changes = new String[count];
+      for (int i = 0; i < count; i++) {
+         cells[i] = rng.nextInt(start.length);
+         changes[i] = randomTile(rng);
+      }
+
+      LexiconCache lexicons = new LexiconCache();
+      Boggle game = new Boggle(lexicons);
+      game.loadLexicon(fileName);
+      Boggle tracked = new Boggle(lexicons);
+      tracked.loadLexicon(fileName);
+      IncrementalSolver solver = new IncrementalSolver(lexicons.get(fileName));
+      check(game, tracked, solver, start, cells, changes);
+      System.out.println("every mode found the same words after each of "
+         + count + " changes");
+      System.out.println("mode\tchanges/sec\tscore");
+      for (int mode = 0; mode < 3; mode++) {
+         // warm up before collecting timing data
+         run(mode, game, solver, start, cells, changes);
+         double begin = System.nanoTime();
+         long score = run(mode, game, solver, start, cells, changes);
+         double elapsedTime = (System.nanoTime() - begin) / 1_000_000_000d;
+         System.out.print(new String[] {"full", "setTile", "solver"}[mode] + "\t");
+         System.out.printf("%4.3f", count / elapsedTime);
+         System.out.println("\t" + score);
+      }
+   }
+
+   /**
+    * Applies every change to the starting board in the given mode, returning
+    * the sum of the scores after each change.
+    */
+   private static long run(int mode, Boggle game, IncrementalSolver solver,
+                           String[] start, int[] cells, String[] changes) {
+      String[] board = start.clone();
+      long total = 0;
+      if (mode == 2) {
+         solver.setBoard(board, 3);
+      }
+      else {
+         game.setBoard(board);
+         game.getAllValidWords(3);
+      }
+      for (int i = 0; i < cells.length; i++) {
+         if (mode == 0) {
+            board[cells[i]] = changes[i];
+            game.setBoard(board);
+         }
+         else if (mode == 1) {
+            game.setTile(cells[i], changes[i]);
+         }
+         else {
+            solver.setTile(cells[i], changes[i]);
+            total += solver.getScore();
+            continue;
+         }
+         SortedSet<String> words = game.getAllValidWords(3);
+         total += game.getScoreForWords(words, 3);
+      }
+      return total;
+   }
+
+   /**
+    * Applies every change in all three modes at once, throwing if the words
+    * any mode finds differ from those of a full solve after any change.
+    */
+   private static void check(Boggle full, Boggle tracked,
+                             IncrementalSolver solver, String[] start,
+                             int[] cells, String[] changes) {
+      String[] board = start.clone();
+      full.setBoard(board);
+      tracked.setBoard(board);
+      tracked.getAllValidWords(3);
+      solver.setBoard(board, 3);
+      for (int i = 0; i < cells.length; i++) {
+         board[cells[i]] = changes[i];
+         full.setBoard(board);
+         tracked.setTile(cells[i], changes[i]);
+         solver.setTile(cells[i], changes[i]);
+
+         SortedSet<String> expected = full.getAllValidWords(3);
+         SortedSet<String> found = new TreeSet<String>();
+         for (int id : solver.getWordIds()) {
+            found.add(full.getWord(id));
+         }
+         if (!expected.equals(tracked.getAllValidWords(3))
+               || !expected.equals(found)
+               || full.getScoreForWords(expected, 3) != solver.getScore()) {
+            throw new IllegalStateException("Modes differ after change " + i);
+         }
+      }
+   }
+
+   /** Returns the tile of a random die face. */
+   private static String randomTile(Random rng) {
+      return String.valueOf(LETTERS.charAt(rng.nextInt(LETTERS.length())));
+   }
+}
@@ -0,0 +1,382 @@
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Keeps the words on a Boggle board up to date as its tiles are changed one
+ * at a time.
+ *
+ * The solver records every path its search reaches: the cells the path
+ * uses, with one bit per cell, and the lexicon node, length and word number
+ * of the prefix it spells. Those that spell words are the paths of the
+ * words on the board. When a tile changes, only the paths through its cell
+ * can change, so those are dropped and the search is run again through the
+ * cell alone: from the cell itself, and from every remaining path that ends
+ * beside it, stepping onto the cell and on from there. Every path the new
+ * search reaches therefore uses the changed cell, and none is found twice.
+ * A word is on the board for as long as at least one of its paths is, and
+ * the count of words and their score are updated as words come and go.
+ * The words that have come or gone are noted as well, so a caller keeping
+ * its own copy of the words can bring it up to date by looking only at
+ * those.
+ *
+ * The number of each word is added up along the way to it, so no word is
+ * spelled out or looked up to be numbered. A solver holds a count of paths
+ * for every word of its lexicon, so it is meant to be created once and
+ * given any number of boards.
+ *
+ * A solver given a BoardTiles keeps it and changes it in place through
+ * setTile, so a caller that shares it sees every change without resolving
+ * the board again.
+ *
+ * An IncrementalSolver must not be used by two threads at once.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class IncrementalSolver {
+
+   // The lexicon words are looked up in.
+   private final Lexicon lexicon;
+
+   // The number of paths recorded for each word, by its number.
+   private final int[] spellings;
+
+   // The tiles of the board, resolved, and its adjacency.
+   private BoardTiles board;
+   private BoardAdjacency adjacency;
+
+   // The fewest letters a word may have.
+   private int minLength;
+
+   // The number of longs in the bitmask of a path.
+   private int blocks;
+
+   // The recorded paths: the cells of each, blocks longs per path, and the
+   // cell it ends on, the node of the prefix it spells, the number of
+   // letters in the prefix, and the number of the prefix as a word.
+   private long[] masks = new long[64];
+   private int[] ends = new int[64];
+   private int[] nodes = new int[64];
+   private int[] depths = new int[64];
+   private int[] ranks = new int[64];
+   private int pathCount;
+
+   // The numbers of the words that have come or gone since the changes
+   // were last taken, each noted once.
+   private int[] changed = new int[64];
+   private int changedCount;
+   private final BitSet noted = new BitSet();
+
+   // The number of words on the board and their total score.
+   private int wordCount;
+   private int score;
+
+   // The cells on the current path.
+   private long[] visited = new long[1];
+
+   /**
+    * Creates a solver for boards played with the given lexicon.
+    *
+    * @param lexicon the lexicon to find words in
+    */
+   public IncrementalSolver(Lexicon lexicon) {
+      this.lexicon = lexicon;
+      spellings = new int[lexicon.size()];
+   }
+
+   /**
+    * Sets the board and finds every word on it of at least minLength
+    * letters, recording their paths.
+    *
+    * @param letterArray the tiles of the board in row-major order
+    * @param minimumLength the fewest letters a word may have
+    * @throws IllegalArgumentException if letterArray is null, not square or
+    *     has a null tile, or if minimumLength < 1
+    */
+   public void setBoard(String[] letterArray, int minimumLength) {
+      setBoard(new BoardTiles(letterArray), minimumLength);
+   }
+
+   /**
+    * Sets the board to the given resolved tiles and finds every word on it
+    * of at least minLength letters, recording their paths. The solver keeps
+    * the tiles and changes them in setTile; they must not be changed in any
+    * other way while the solver holds them.
+    *
+    * @param resolved the tiles of the board
+    * @param minimumLength the fewest letters a word may have
+    * @throws IllegalArgumentException if resolved is null, or if
+    *     minimumLength < 1
+    */
+   public void setBoard(BoardTiles resolved, int minimumLength) {
+      if (resolved == null) {
+         throw new IllegalArgumentException("Incorrect Entry");
+      }
+      if (minimumLength < 1) {
+         throw new IllegalArgumentException("Invalid Number");
+      }
+      for (int p = 0; p < pathCount; p++) {
+         spellings[ranks[p]] = 0;
+      }
+      pathCount = 0;
+      wordCount = 0;
+      score = 0;
+      noted.clear();
+      changedCount = 0;
+
+      board = resolved;
+      adjacency = BoardAdjacency.forSide(resolved.side);
+      minLength = minimumLength;
+      blocks = (resolved.cells() + 63) >>> 6;
+      if (visited.length < blocks) {
+         visited = new long[blocks];
+      }
+      for (int cell = 0; cell < resolved.cells(); cell++) {
+         extend(lexicon.root(), cell, 0, 0);
+      }
+   }
+
+   /**
+    * Changes the tile of one cell, in place in the board's tiles, dropping
+    * the words whose only paths used the cell and adding the words that the
+    * new tile makes.
+    *
+    * @param cell the cell to change, in row-major order
+    * @param tile the new tile
+    * @throws IllegalArgumentException if cell is not on the board or tile is
+    *     null
+    * @throws IllegalStateException if no board has been set
+    */
+   public void setTile(int cell, String tile) {
+      if (board == null) {
+         throw new IllegalStateException("Set board");
+      }
+      if (cell < 0 || cell >= board.cells() || tile == null) {
+         throw new IllegalArgumentException("Incorrect Entry");
+      }
+      drop(cell);
+      board.setTile(cell, tile);
+
+      int kept = pathCount;
+      extend(lexicon.root(), cell, 0, 0);
+      for (int p = 0; p < kept; p++) {
+         if (isAdjacent(ends[p], cell)) {
+            System.arraycopy(masks, p * blocks, visited, 0, blocks);
+            extend(nodes[p], cell, depths[p], ranks[p]);
+            Arrays.fill(visited, 0, blocks, 0L);
+         }
+      }
+   }
+
+   /**
+    * Returns the numbers in the lexicon of the words on the board, in
+    * increasing order, which is also alphabetical order.
+    *
+    * @return the word numbers
+    */
+   public int[] getWordIds() {
+      int[] found = new int[pathCount];
+      int words = 0;
+      for (int p = 0; p < pathCount; p++) {
+         if (isWord(p)) {
+            found[words++] = ranks[p];
+         }
+      }
+      Arrays.sort(found, 0, words);
+      int[] ids = new int[wordCount];
+      int count = 0;
+      for (int i = 0; i < words; i++) {
+         if (count == 0 || ids[count - 1] != found[i]) {
+            ids[count++] = found[i];
+         }
+      }
+      return ids;
+   }
+
+   /**
+    * Returns the numbers of the words that have come onto or gone from the
+    * board since the last call, or since setBoard, in no particular order,
+    * and starts noting changes afresh. Right after setBoard these are all
+    * the words on the board. A word that went and came back is included;
+    * hasWord tells which words are on the board now.
+    *
+    * @return the numbers of the words that may have changed
+    */
+   public int[] takeChangedWordIds() {
+      int[] ids = Arrays.copyOf(changed, changedCount);
+      for (int i = 0; i < changedCount; i++) {
+         noted.clear(changed[i]);
+      }
+      changedCount = 0;
+      return ids;
+   }
+
+   /**
+    * Returns true if the word with the given number is on the board.
+    *
+    * @param wordId the number of a word in the lexicon
+    * @return true if at least one path on the board spells the word
+    */
+   public boolean hasWord(int wordId) {
+      return spellings[wordId] > 0;
+   }
+
+   /**
+    * Returns the number of words on the board.
+    *
+    * @return the number of words
+    */
+   public int getWordCount() {
+      return wordCount;
+   }
+
+   /**
+    * Returns the total score of the words on the board. Each word scores one
+    * point plus one for every letter past the minimum length.
+    *
+    * @return the score
+    */
+   public int getScore() {
+      return score;
+   }
+
+   /**
+    * Returns the number of paths recorded, whether or not they spell words.
+    *
+    * @return the number of paths
+    */
+   public int getPathCount() {
+      return pathCount;
+   }
+
+   /**
+    * Returns the fewest letters a word may have, as given to setBoard.
+    *
+    * @return the minimum word length
+    */
+   public int getMinLength() {
+      return minLength;
+   }
+
+   /**
+    * Returns true if the given cells are neighbors.
+    */
+   private boolean isAdjacent(int cell, int other) {
+      int side = adjacency.side;
+      int rows = cell / side - other / side;
+      int columns = cell % side - other % side;
+      return cell != other && rows >= -1 && rows <= 1
+         && columns >= -1 && columns <= 1;
+   }
+
+   /**
+    * Returns true if the recorded path p spells a word long enough to keep.
+    */
+   private boolean isWord(int p) {
+      return depths[p] >= minLength && lexicon.isWord(nodes[p]);
+   }
+
+   /**
+    * Drops every recorded path through the given cell, moving the last path
+    * into the place of each one dropped.
+    */
+   private void drop(int cell) {
+      int block = cell >>> 6;
+      long bit = 1L << cell;
+      int p = 0;
+      while (p < pathCount) {
+         if ((masks[p * blocks + block] & bit) == 0) {
+            p++;
+            continue;
+         }
+         if (isWord(p) && --spellings[ranks[p]] == 0) {
+            wordCount--;
+            score -= 1 + depths[p] - minLength;
+            note(ranks[p]);
+         }
+         pathCount--;
+         System.arraycopy(masks, pathCount * blocks, masks, p * blocks, blocks);
+         ends[p] = ends[pathCount];
+         nodes[p] = nodes[pathCount];
+         depths[p] = depths[pathCount];
+         ranks[p] = ranks[pathCount];
+      }
+   }
+
+   /**
+    * Extends the path spelling the prefix at node, depth letters long and
+    * numbered rank, by the given cell, recording every path reached.
+    */
+   private void extend(int node, int cell, int depth, int rank) {
+      if (board.dead[cell]) {
+         return;
+      }
+      byte[] codes = board.letters;
+      int end = board.offsets[cell + 1];
+      for (int k = board.offsets[cell]; k < end; k++) {
+         int next = lexicon.child(node, codes[k]);
+         if (next == -1) {
+            return;
+         }
+         rank += lexicon.wordsBefore(node, codes[k]);
+         node = next;
+      }
+      depth += end - board.offsets[cell];
+
+      visited[cell >>> 6] |= 1L << cell;
+      record(cell, node, depth, rank);
+      int[] targets = adjacency.targets;
+      for (int e = adjacency.offsets[cell]; e < adjacency.offsets[cell + 1]; e++) {
+         int next = targets[e];
+         if ((visited[next >>> 6] & (1L << next)) == 0) {
+            extend(node, next, depth, rank);
+         }
+      }
+      visited[cell >>> 6] &= ~(1L << cell);
+   }
+
+   /**
+    * Records the current path, which ends on the given cell and spells the
+    * prefix at node, counting it as a spelling of its word if it is one.
+    */
+   private void record(int cell, int node, int depth, int rank) {
+      if (pathCount == ends.length) {
+         int capacity = pathCount * 2;
+         ends = Arrays.copyOf(ends, capacity);
+         nodes = Arrays.copyOf(nodes, capacity);
+         depths = Arrays.copyOf(depths, capacity);
+         ranks = Arrays.copyOf(ranks, capacity);
+      }
+      if ((pathCount + 1) * blocks > masks.length) {
+         masks = Arrays.copyOf(masks, Math.max(masks.length * 2,
+                                               (pathCount + 1) * blocks));
+      }
+      System.arraycopy(visited, 0, masks, pathCount * blocks, blocks);
+      ends[pathCount] = cell;
+      nodes[pathCount] = node;
+      depths[pathCount] = depth;
+      ranks[pathCount] = rank;
+      pathCount++;
+      if (depth >= minLength && lexicon.isWord(node)
+            && spellings[rank]++ == 0) {
+         wordCount++;
+         score += 1 + depth - minLength;
+         note(rank);
+      }
+   }
+
+   /**
+    * Notes that the word with the given number has come or gone, unless it
+    * has been noted since the changes were last taken.
+    */
+   private void note(int rank) {
+      if (noted.get(rank)) {
+         return;
+      }
+      noted.set(rank);
+      if (changedCount == changed.length) {
+         changed = Arrays.copyOf(changed, changedCount * 2);
+      }
+      changed[changedCount++] = rank;
+   }
+}
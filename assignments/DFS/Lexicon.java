@@ -0,0 +1,592 @@
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A word list stored as a minimized directed acyclic word graph (DAWG) over
+ * the letters a to z.
+ *
+ * The whole graph is one flat sequence of ints. A node is stored as a header
+ * int holding a bitmask of the letters it has children for, plus a flag
+ * marking the end of a word, followed by the offsets of its children in
+ * letter order. A node is named by the offset of its header, so following
+ * the edge for a letter is a mask test, a bit count and one read, with no
+ * objects touched. A search that walks the graph alongside its own input can
+ * therefore prune a dead prefix in constant time and never build a String
+ * it does not keep.
+ *
+ * The graph is built as a trie with every set of nodes that have the same
+ * flag and the same children merged into one, so words that end the same
+ * way share their endings. This takes far fewer ints than the trie, and far
+ * less memory than a set of Strings.
+ *
+ * A lexicon can be saved to a snapshot file and opened again without being
+ * rebuilt. Opening a snapshot memory-maps it and reads the nodes, and the
+ * word counts described below, straight out of the mapping, so the lexicon
+ * takes no heap of its own, and every lexicon opened from the same file, in
+ * this JVM or any other process, shares the same pages of the operating
+ * system's file cache.
+ *
+ * The words are numbered from 0 in alphabetical order. A word's number is
+ * found from the number of words below each node, so numbering needs no
+ * table of words. The counts take one int per int of nodes; they are worked
+ * out once when the graph is built, and saved in snapshots after the nodes.
+ *
+ * Words are lowercased when they are loaded, and only words made entirely
+ * of the letters a to z are kept, since no other word can be spelled with
+ * the graph's edges. Lookups ignore case.
+ *
+ * A Lexicon is immutable once constructed and may be shared between threads.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class Lexicon {
+
+   // The bit of a node's header marking the end of a word.
+   private static final int TERMINAL = 1 << 26;
+
+   // The bits of a node's header naming the letters it has children for.
+   private static final int LETTERS = TERMINAL - 1;
+
+   // Identifies a snapshot file, and the version of its layout.
+   private static final int SNAPSHOT_MAGIC = 0x44415747;
+   private static final int SNAPSHOT_VERSION = 2;
+
+   // The number of bytes before the nodes in a snapshot file.
+   private static final int SNAPSHOT_HEADER = 20;
+
+   // The nodes of the graph, children before parents, either on the heap or
+   // mapped from a snapshot.
+   private final IntBuffer nodes;
+
+   // The offset of the root node.
+   private final int root;
+
+   // The number of words in the graph.
+   private final int size;
+
+   // counts.get(p) is the number of words at or below the node at offset
+   // p, used to number the words. Held alongside the nodes, on the heap or
+   // in the mapping.
+   private final IntBuffer counts;
+
+   /**
+    * Builds a lexicon over the given words.
+    *
+    * @param sortedWords the lowercase words in sorted order, without
+    *     duplicates
+    */
+   public Lexicon(String[] sortedWords) {
+      Builder builder = new Builder(sortedWords);
+      root = builder.build(0, sortedWords.length, 0);
+      nodes = IntBuffer.wrap(Arrays.copyOf(builder.nodes, builder.count));
+      counts = IntBuffer.wrap(countWords(nodes));
+      size = sortedWords.length;
+   }
+
+   /**
+    * Creates a lexicon over nodes already laid out, as in a snapshot.
+    */
+   private Lexicon(IntBuffer nodes, IntBuffer counts, int root, int size) {
+      this.nodes = nodes;
+      this.counts = counts;
+      this.root = root;
+      this.size = size;
+   }
+
+   /**
+    * Reads a lexicon from a file, which may be either a snapshot written by
+    * save or a word file. A snapshot is opened as by open. In a word file,
+    * every string on every line, taking strings to be separated by single
+    * spaces, is added as a word.
+    *
+    * @param fileName the name of the snapshot or word file
+    * @return the lexicon stored in the file
+    * @throws IOException if the file cannot be read, starts like a snapshot
+    *     but is not a whole one, or is a snapshot of an older version
+    */
+   public static Lexicon load(String fileName) throws IOException {
+      if (isSnapshot(fileName)) {
+         return open(Paths.get(fileName));
+      }
+      List<String> words = new ArrayList<String>();
+      try (BufferedReader in = new BufferedReader(new FileReader(fileName))) {
+         String line;
+         while ((line = in.readLine()) != null) {
+            for (String token : line.split(" ")) {
+               String word = token.toLowerCase();
+               if (isSpelledWithLetters(word)) {
+                  words.add(word);
+               }
+            }
+         }
+      }
+      String[] sorted = words.toArray(new String[0]);
+      Arrays.sort(sorted);
+      int unique = 0;
+      for (int i = 0; i < sorted.length; i++) {
+         if (unique == 0 || !sorted[i].equals(sorted[unique - 1])) {
+            sorted[unique++] = sorted[i];
+         }
+      }
+      return new Lexicon(Arrays.copyOf(sorted, unique));
+   }
+
+   /**
+    * Returns true if the named file starts with the magic number and version
+    * of a snapshot. A file that starts like one is only taken for a snapshot
+    * if its length agrees with the counts in its header.
+    *
+    * @throws IOException if the file starts like a snapshot but its header
+    *     does not fit its length, or is a snapshot of an older version
+    */
+   private static boolean isSnapshot(String fileName) throws IOException {
+      long length = new File(fileName).length();
+      if (length < SNAPSHOT_HEADER) {
+         return false;
+      }
+      try (DataInputStream in =
+            new DataInputStream(new FileInputStream(fileName))) {
+         if (in.readInt() != SNAPSHOT_MAGIC) {
+            return false;
+         }
+         int version = in.readInt();
+         if (version > 0 && version < SNAPSHOT_VERSION) {
+            throw new IOException("Old lexicon snapshot, save it again: "
+               + fileName);
+         }
+         if (version != SNAPSHOT_VERSION) {
+            return false;
+         }
+         int size = in.readInt();
+         int root = in.readInt();
+         int count = in.readInt();
+         if (size < 0 || root < 0 || root >= count
+               || length != SNAPSHOT_HEADER + 8L * count) {
+            throw new IOException("Corrupt lexicon snapshot: " + fileName);
+         }
+         return true;
+      }
+   }
+
+   /**
+    * Returns true if word is not empty and has only the letters a to z.
+    */
+   private static boolean isSpelledWithLetters(String word) {
+      if (word.isEmpty()) {
+         return false;
+      }
+      for (int i = 0; i < word.length(); i++) {
+         char c = word.charAt(i);
+         if (c < 'a' || c > 'z') {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * Writes this lexicon to a snapshot file, which can be read back with
+    * open.
+    *
+    * The snapshot starts with a magic number, a version, the number of
+    * words, the offset of the root node and the number of ints of nodes,
+    * followed by the nodes themselves and then the count of words at or
+    * below each of them, one int per int of nodes. All values are
+    * big-endian.
+    *
+    * @param file the file to write
+    * @throws IOException if the file cannot be written
+    */
+   public void save(Path file) throws IOException {
+      try (DataOutputStream out = new DataOutputStream(
+            new BufferedOutputStream(Files.newOutputStream(file)))) {
+         out.writeInt(SNAPSHOT_MAGIC);
+         out.writeInt(SNAPSHOT_VERSION);
+         out.writeInt(size);
+         out.writeInt(root);
+         out.writeInt(nodes.limit());
+         for (int i = 0; i < nodes.limit(); i++) {
+            out.writeInt(nodes.get(i));
+         }
+         for (int i = 0; i < counts.limit(); i++) {
+            out.writeInt(counts.get(i));
+         }
+      }
+   }
+
+   /**
+    * Opens a snapshot file written by save. The file is memory-mapped
+    * read-only and its nodes and word counts are read in place, never
+    * copied to the heap.
+    *
+    * @param file the snapshot file
+    * @return the lexicon stored in the file
+    * @throws IOException if the file cannot be read or is not a snapshot
+    */
+   public static Lexicon open(Path file) throws IOException {
+      try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+         MappedByteBuffer buffer =
+            channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+         try {
+            if (buffer.getInt() != SNAPSHOT_MAGIC
+                  || buffer.getInt() != SNAPSHOT_VERSION) {
+               throw new IOException("Not a lexicon snapshot: " + file);
+            }
+            int size = buffer.getInt();
+            int root = buffer.getInt();
+            int count = buffer.getInt();
+            if (count < 0 || buffer.remaining() < 8L * count || size < 0
+                  || root < 0 || root >= count) {
+               throw new IOException("Truncated lexicon snapshot: " + file);
+            }
+            IntBuffer nodes = buffer.slice().asIntBuffer();
+            nodes.limit(count);
+            buffer.position(buffer.position() + 4 * count);
+            IntBuffer counts = buffer.slice().asIntBuffer();
+            counts.limit(count);
+            return new Lexicon(nodes, counts, root, size);
+         }
+         catch (BufferUnderflowException e) {
+            throw new IOException("Truncated lexicon snapshot: " + file);
+         }
+      }
+   }
+
+   /**
+    * Lays out the graph over a range of sorted words, writing each node after
+    * all of its children and merging it into an equivalent node already
+    * written, if there is one.
+    */
+   private static class Builder {
+      private final String[] words;
+      private final Map<Signature, Integer> register =
+         new HashMap<Signature, Integer>();
+      private int[] nodes = new int[1024];
+      private int count;
+
+      Builder(String[] words) {
+         this.words = words;
+      }
+
+      /**
+       * Writes the node reached by the first depth letters of words[from]
+       * through words[to - 1], which all share those letters, and returns
+       * its offset.
+       */
+      int build(int from, int to, int depth) {
+         int header = 0;
+         if (from < to && words[from].length() == depth) {
+            header |= TERMINAL;
+            from++;
+         }
+         int[] children = new int[26];
+         int i = from;
+         while (i < to) {
+            char c = words[i].charAt(depth);
+            int j = i + 1;
+            while (j < to && words[j].charAt(depth) == c) {
+               j++;
+            }
+            children[c - 'a'] = build(i, j, depth + 1);
+            header |= 1 << (c - 'a');
+            i = j;
+         }
+
+         // Children are merged before their parents, so two nodes are
+         // equivalent exactly when their headers and child offsets match.
+         int[] node = new int[1 + Integer.bitCount(header & LETTERS)];
+         node[0] = header;
+         int next = 1;
+         for (int letter = 0; letter < 26; letter++) {
+            if ((header & (1 << letter)) != 0) {
+               node[next++] = children[letter];
+            }
+         }
+         Signature signature = new Signature(node);
+         Integer existing = register.get(signature);
+         if (existing != null) {
+            return existing;
+         }
+
+         if (count + node.length > nodes.length) {
+            nodes = Arrays.copyOf(nodes, Math.max(nodes.length * 2,
+                                                  count + node.length));
+         }
+         int offset = count;
+         System.arraycopy(node, 0, nodes, count, node.length);
+         count += node.length;
+         register.put(signature, offset);
+         return offset;
+      }
+   }
+
+   /**
+    * The ints of one node, compared by value.
+    */
+   private static class Signature {
+      private final int[] ints;
+      private final int hash;
+
+      Signature(int[] ints) {
+         this.ints = ints;
+         hash = Arrays.hashCode(ints);
+      }
+
+      @Override
+      public boolean equals(Object other) {
+         return other instanceof Signature
+            && Arrays.equals(ints, ((Signature) other).ints);
+      }
+
+      @Override
+      public int hashCode() {
+         return hash;
+      }
+   }
+
+   /**
+    * Returns the root node, which stands for the empty prefix.
+    *
+    * @return the root node
+    */
+   public int root() {
+      return root;
+   }
+
+   /**
+    * Returns the node reached from the given node by the given letter, or -1
+    * if no word continues that way.
+    *
+    * @param node a node of this lexicon
+    * @param c the next letter, in either case
+    * @return the child node, or -1
+    */
+   public int step(int node, char c) {
+      int letter = Character.toLowerCase(c) - 'a';
+      if (letter < 0 || letter >= 26) {
+         return -1;
+      }
+      return child(node, letter);
+   }
+
+   /**
+    * Returns the node reached from the given node by the letter with the
+    * given code, or -1 if no word continues that way. Unlike step, the
+    * letter is not converted or range checked.
+    *
+    * @param node a node of this lexicon
+    * @param letter the next letter, 0 for a through 25 for z
+    * @return the child node, or -1
+    */
+   public int child(int node, int letter) {
+      int header = nodes.get(node);
+      int bit = 1 << letter;
+      if ((header & bit) == 0) {
+         return -1;
+      }
+      return nodes.get(node + 1 + Integer.bitCount(header & (bit - 1)));
+   }
+
+   /**
+    * Returns true if the prefix the given node stands for is a word.
+    *
+    * @param node a node of this lexicon
+    * @return true if the node ends a word
+    */
+   public boolean isWord(int node) {
+      return (nodes.get(node) & TERMINAL) != 0;
+   }
+
+   /**
+    * Returns the node the given prefix leads to, or -1 if no word starts with
+    * it.
+    *
+    * @param prefix the prefix to follow
+    * @return the node for prefix, or -1
+    */
+   public int find(String prefix) {
+      int node = root;
+      for (int i = 0; i < prefix.length() && node != -1; i++) {
+         node = step(node, prefix.charAt(i));
+      }
+      return node;
+   }
+
+   /**
+    * Returns true if the given string is a word.
+    *
+    * @param word the string to check
+    * @return true if word is in the lexicon
+    */
+   public boolean contains(String word) {
+      int node = find(word);
+      return node != -1 && isWord(node);
+   }
+
+   /**
+    * Returns true if at least one word starts with the given prefix.
+    *
+    * @param prefix the prefix to check
+    * @return true if some word has the prefix
+    */
+   public boolean hasPrefix(String prefix) {
+      int node = find(prefix);
+      return node != -1 && nodes.get(node) != 0;
+   }
+
+   /**
+    * Returns the number of words at or below every node of the given nodes.
+    * Children come before their parents, so one pass in offset order finds
+    * every count from counts already found.
+    */
+   private static int[] countWords(IntBuffer nodes) {
+      int[] result = new int[nodes.limit()];
+      int offset = 0;
+      while (offset < result.length) {
+         int header = nodes.get(offset);
+         int degree = Integer.bitCount(header & LETTERS);
+         int count = (header & TERMINAL) != 0 ? 1 : 0;
+         for (int k = 1; k <= degree; k++) {
+            count += result[nodes.get(offset + k)];
+         }
+         result[offset] = count;
+         offset += 1 + degree;
+      }
+      return result;
+   }
+
+   /**
+    * Returns the number of the word spelled by the first length letters of
+    * the given array, or -1 if they do not spell a word. Words are numbered
+    * from 0 in alphabetical order.
+    *
+    * @param letters the letters of the word, in either case
+    * @param length the number of letters in the word
+    * @return the number of the word, or -1
+    */
+   public int indexOf(char[] letters, int length) {
+      int node = root;
+      int id = 0;
+      for (int i = 0; i < length; i++) {
+         int letter = Character.toLowerCase(letters[i]) - 'a';
+         if (letter < 0 || letter >= 26) {
+            return -1;
+         }
+         int next = child(node, letter);
+         if (next == -1) {
+            return -1;
+         }
+         id += wordsBefore(node, letter);
+         node = next;
+      }
+      return (nodes.get(node) & TERMINAL) != 0 ? id : -1;
+   }
+
+   /**
+    * Returns the number of words at or below the given node that come
+    * before every word continuing it with the given letter: the word the
+    * node ends, if any, and the words below its children for earlier
+    * letters. Adding these up along the way to a word gives its number, so
+    * a search that keeps the sum as it goes numbers each word it reaches
+    * without spelling it out again.
+    *
+    * @param node a node of this lexicon
+    * @param letter the next letter, 0 for a through 25 for z
+    * @return the number of words passed over
+    */
+   public int wordsBefore(int node, int letter) {
+      int header = nodes.get(node);
+      int before = (header & TERMINAL) != 0 ? 1 : 0;
+      int rank = Integer.bitCount(header & ((1 << letter) - 1));
+      for (int k = 1; k <= rank; k++) {
+         before += counts.get(nodes.get(node + k));
+      }
+      return before;
+   }
+
+   /**
+    * Returns the word with the given number.
+    *
+    * @param id the number of the word
+    * @return the word, in lowercase
+    * @throws IllegalArgumentException if id is not the number of a word
+    */
+   public String word(int id) {
+      if (id < 0 || id >= size) {
+         throw new IllegalArgumentException("No word numbered " + id);
+      }
+      StringBuilder word = new StringBuilder();
+      int node = root;
+      while (true) {
+         int header = nodes.get(node);
+         if ((header & TERMINAL) != 0) {
+            if (id == 0) {
+               return word.toString();
+            }
+            id--;
+         }
+         int next = node + 1;
+         for (int letter = 0; letter < 26; letter++) {
+            if ((header & (1 << letter)) != 0) {
+               int child = nodes.get(next++);
+               int below = counts.get(child);
+               if (id < below) {
+                  word.append((char) ('a' + letter));
+                  node = child;
+                  break;
+               }
+               id -= below;
+            }
+         }
+      }
+   }
+
+   /**
+    * Returns the number of words in the lexicon.
+    *
+    * @return the number of words
+    */
+   public int size() {
+      return size;
+   }
+
+   /**
+    * Returns the number of bytes the lexicon's nodes and word counts take,
+    * whether on the heap or in a mapped snapshot.
+    *
+    * @return the size of the nodes and counts in bytes
+    */
+   public long byteSize() {
+      return 4L * nodes.limit() + 4L * counts.limit();
+   }
+
+   /**
+    * Returns true if the lexicon's nodes and word counts are read from a
+    * mapped snapshot rather than held on the heap.
+    *
+    * @return true if the lexicon was opened from a snapshot
+    */
+   public boolean isMapped() {
+      return nodes.isDirect();
+   }
+}
@@ -0,0 +1,204 @@
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The lexicons loaded so far, shared by every game that loads the same file.
+ *
+ * Lexicons are keyed by the absolute path of their file and remembered with
+ * the file's modification time. A request for a file whose time has not
+ * changed is answered with the lexicon already loaded; a request for a new
+ * file, or one that has changed since it was loaded, loads it again and
+ * replaces any stale copy. A Lexicon is immutable, so one copy serves any
+ * number of games at once.
+ *
+ * A LexiconCache is thread-safe. Each file is loaded by a task that the
+ * first request for it puts in the map and then runs itself, outside any
+ * lock of the map. Concurrent requests for the same file find the task and
+ * wait for its result rather than starting their own, while requests for
+ * other files go ahead. A load that fails is removed again, so the next
+ * request tries afresh.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class LexiconCache {
+
+   // The load of a lexicon and the modification time of the file it reads.
+   private static class Entry {
+      private final long modified;
+      private final FutureTask<Lexicon> load;
+
+      Entry(long modified, Path path) {
+         this.modified = modified;
+         load = new FutureTask<>(() -> Lexicon.load(path.toString()));
+      }
+
+      // Returns the lexicon if the load has finished without failing, or
+      // null otherwise.
+      Lexicon loaded() {
+         if (!load.isDone()) {
+            return null;
+         }
+         try {
+            return load.get();
+         }
+         catch (InterruptedException | ExecutionException e) {
+            return null;
+         }
+      }
+   }
+
+   // The loads of the lexicons keyed by the absolute path of their file.
+   private final Map<Path, Entry> lexicons = new ConcurrentHashMap<>();
+
+   private final AtomicLong hits = new AtomicLong();
+   private final AtomicLong misses = new AtomicLong();
+
+   /**
+    * Returns the lexicon for the given word file or snapshot, loading it if
+    * it has not been loaded or has been modified since.
+    *
+    * @param fileName the name of the word file or snapshot
+    * @return the shared lexicon for the file
+    * @throws IOException if the file cannot be read, or if the thread is
+    *     interrupted while waiting for another request to load it
+    */
+   public Lexicon get(String fileName) throws IOException {
+      Path path = Paths.get(fileName).toAbsolutePath().normalize();
+      long modified = Files.getLastModifiedTime(path).toMillis();
+      Entry entry = lexicons.get(path);
+      if (entry == null || entry.modified != modified) {
+         Entry fresh = new Entry(modified, path);
+         entry = lexicons.compute(path, (key, current) ->
+            current != null && current.modified == modified ? current : fresh);
+         if (entry == fresh) {
+            misses.incrementAndGet();
+            fresh.load.run();
+         }
+         else {
+            hits.incrementAndGet();
+         }
+      }
+      else {
+         hits.incrementAndGet();
+      }
+
+      try {
+         return entry.load.get();
+      }
+      catch (InterruptedException e) {
+         Thread.currentThread().interrupt();
+         throw new InterruptedIOException("Interrupted loading " + path);
+      }
+      catch (ExecutionException e) {
+         lexicons.remove(path, entry);
+         Throwable cause = e.getCause();
+         if (cause instanceof IOException) {
+            throw (IOException) cause;
+         }
+         if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+         }
+         if (cause instanceof Error) {
+            throw (Error) cause;
+         }
+         throw new IOException(cause);
+      }
+   }
+
+   /**
+    * Returns the number of lexicons currently held.
+    *
+    * @return the number of lexicons held
+    */
+   public int size() {
+      int count = 0;
+      for (Entry entry : lexicons.values()) {
+         if (entry.loaded() != null) {
+            count++;
+         }
+      }
+      return count;
+   }
+
+   /**
+    * Returns the number of heap bytes taken by the lexicons held. Lexicons
+    * opened from snapshots take none.
+    *
+    * @return the heap bytes of the lexicons held
+    */
+   public long getHeapBytes() {
+      long bytes = 0;
+      for (Entry entry : lexicons.values()) {
+         Lexicon lexicon = entry.loaded();
+         if (lexicon != null && !lexicon.isMapped()) {
+            bytes += lexicon.byteSize();
+         }
+      }
+      return bytes;
+   }
+
+   /**
+    * Returns the number of bytes mapped from snapshots by the lexicons held.
+    *
+    * @return the mapped bytes of the lexicons held
+    */
+   public long getMappedBytes() {
+      long bytes = 0;
+      for (Entry entry : lexicons.values()) {
+         Lexicon lexicon = entry.loaded();
+         if (lexicon != null && lexicon.isMapped()) {
+            bytes += lexicon.byteSize();
+         }
+      }
+      return bytes;
+   }
+
+   /**
+    * Returns the number of requests answered with a lexicon already loaded.
+    *
+    * @return the hit count
+    */
+   public long getHitCount() {
+      return hits.get();
+   }
+
+   /**
+    * Returns the number of requests that loaded a lexicon.
+    *
+    * @return the miss count
+    */
+   public long getMissCount() {
+      return misses.get();
+   }
+
+   /**
+    * Removes every lexicon and resets the counters. Games already holding a
+    * lexicon keep it.
+    */
+   public void clear() {
+      lexicons.clear();
+      hits.set(0);
+      misses.set(0);
+   }
+
+   /**
+    * Returns a summary of the cache's size, memory and counters.
+    *
+    * @return a summary of the cache
+    */
+   @Override
+   public String toString() {
+      return "lexicons=" + size() + " heapBytes=" + getHeapBytes()
+         + " mappedBytes=" + getMappedBytes() + " hits=" + hits.get()
+         + " misses=" + misses.get();
+   }
+}
@@ -0,0 +1,50 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * LexiconSnapshotClient.java
+ * Builds the lexicon for a word file, saves it to a snapshot, and compares
+ * the time taken and memory used to build it against opening the snapshot.
+ * Then loads a game from the snapshot to show that it plays the same.
+ *
+ * Usage: java LexiconSnapshotClient wordfile snapshotfile
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class LexiconSnapshotClient {
+
+   /** Drives execution. */
+   public static void main(String[] args) throws IOException {
+      if (args.length != 2) {
+         System.err.println("Usage: java LexiconSnapshotClient wordfile snapshotfile");
+         System.exit(1);
+      }
+      Path snapshot = Paths.get(args[1]);
+   
+      double start = System.nanoTime();
+      Lexicon built = Lexicon.load(args[0]);
+      double buildTime = (System.nanoTime() - start) / 1_000_000d;
+      start = System.nanoTime();
+      built.save(snapshot);
+      double saveTime = (System.nanoTime() - start) / 1_000_000d;
+   
+      start = System.nanoTime();
+      Lexicon opened = Lexicon.open(snapshot);
+      double openTime = (System.nanoTime() - start) / 1_000_000d;
+   
+      System.out.println("words\t" + built.size() + "\t" + opened.size());
+      System.out.println("bytes\t" + built.byteSize() + "\t" + opened.byteSize());
+      System.out.println("mapped\t" + built.isMapped() + "\t" + opened.isMapped());
+      System.out.printf("build from word file (ms)\t%4.3f\n", buildTime);
+      System.out.printf("save snapshot (ms)\t%4.3f\n", saveTime);
+      System.out.printf("open snapshot (ms)\t%4.3f\n", openTime);
+   
+      WordSearchGame game = WordSearchGameFactory.createGame();
+      game.loadLexicon(args[1]);
+      game.setBoard(new String[]{"E", "E", "C", "A", "A", "L", "E", "P", "H", 
+                                 "N", "B", "O", "Q", "T", "T", "Y"});
+      System.out.println(game.getAllValidWords(6));
+   }
+}
@@ -0,0 +1,100 @@
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Finds the words of a lexicon on a Boggle board by fanning the starting
+ * cells out over a fork-join pool.
+ *
+ * The starting cells are split between tasks until each task has a single
+ * cell. Each task searches with its own BoardSolver, so it has its own
+ * visited bitmask, and collects its words in its own set, so the tasks
+ * share nothing while they run. The sets are hash sets, merged smaller into
+ * larger as the tasks join, so the words are sorted only once, when they
+ * are added to the caller's collection. This pays off for large boards,
+ * where every starting cell is a search of its own; a 4x4 board is solved
+ * faster by BoardSolver alone.
+ *
+ * A ParallelBoardSolver keeps no state between calls and may be shared
+ * between threads.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class ParallelBoardSolver {
+
+   // The lexicon words are looked up in.
+   private final Lexicon lexicon;
+
+   // The pool the tasks run in.
+   private final ForkJoinPool pool;
+
+   /**
+    * Creates a solver that runs in the given fork-join pool.
+    *
+    * @param lexicon the lexicon to find words in
+    * @param pool the pool to run the tasks in
+    */
+   public ParallelBoardSolver(Lexicon lexicon, ForkJoinPool pool) {
+      this.lexicon = lexicon;
+      this.pool = pool;
+   }
+
+   /**
+    * Adds every word of at least minLength letters on the board to words,
+    * in uppercase.
+    *
+    * @param board the tiles of the board
+    * @param minLength the fewest letters a word may have
+    * @param words the collection to add the words found to
+    */
+   public void solve(BoardTiles board, int minLength,
+                     Collection<String> words) {
+      words.addAll(pool.invoke(
+         new SolveCells(board, 0, board.cells(), minLength)));
+   }
+
+   /**
+    * Finds the words starting at cells from through to - 1, splitting the
+    * range between subtasks while it holds more than one cell.
+    */
+   private class SolveCells extends RecursiveTask<Set<String>> {
+      private static final long serialVersionUID = 1L;
+
+      private final BoardTiles board;
+      private final int from;
+      private final int to;
+      private final int minLength;
+
+      SolveCells(BoardTiles board, int from, int to, int minLength) {
+         this.board = board;
+         this.from = from;
+         this.to = to;
+         this.minLength = minLength;
+      }
+
+      @Override
+      protected Set<String> compute() {
+         if (to - from > 1) {
+            int mid = (from + to) >>> 1;
+            SolveCells left = new SolveCells(board, from, mid, minLength);
+            SolveCells right = new SolveCells(board, mid, to, minLength);
+            left.fork();
+            Set<String> words = right.compute();
+            Set<String> leftWords = left.join();
+            if (leftWords.size() > words.size()) {
+               leftWords.addAll(words);
+               return leftWords;
+            }
+            words.addAll(leftWords);
+            return words;
+         }
+
+         Set<String> words = new HashSet<String>();
+         new BoardSolver(lexicon).solve(board, from, to, minLength, words);
+         return words;
+      }
+   }
+}
@@ -0,0 +1,69 @@
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * ParallelBoggleClient.java
+ * Times getAllValidWords on large random boards solved on the calling
+ * thread and fanned out over fork-join pools of increasing size, and checks
+ * that every mode finds the same words.
+ *
+ * Usage: java ParallelBoggleClient [wordfile] [side] [boards]
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class ParallelBoggleClient {
+
+   /** The letters of the dice, repeated by how often they appear. */
+   private static final String LETTERS =
+      "EEEEEEEEEEEEAAAAAAAAAIIIIIIIIIOOOOOOOONNNNNNRRRRRRTTTTTTLLLLSSSSUUUU"
+      + "DDDDGGGBBCCMMPPFFHHVVWWYYKJXQZ";
+
+   /** Drives execution. */
+   public static void main(String[] args) {
+      String fileName = args.length > 0 ? args[0] : "wordfiles/OWL.txt";
+      int side = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+      int count = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+   
+      Random rng = new Random(2210);
+      String[][] boards = new String[count][side * side];
+      for (String[] board : boards) {
+         for (int i = 0; i < board.length; i++) {
+            board[i] = String.valueOf(LETTERS.charAt(rng.nextInt(LETTERS.length())));
+         }
+      }
+   
+      Boggle game = new Boggle();
+      game.loadLexicon(fileName);
+      int expected = solve(game, boards);
+      System.out.println("threads\tboards/sec");
+      int[] parallelism = {0, 1, 2, 4, Runtime.getRuntime().availableProcessors()};
+      for (int threads : parallelism) {
+         ForkJoinPool pool = threads == 0 ? null : new ForkJoinPool(threads);
+         game.setPool(pool);
+         // warm up before collecting timing data
+         int words = solve(game, boards);
+         double start = System.nanoTime();
+         solve(game, boards);
+         double elapsedTime = (System.nanoTime() - start) / 1_000_000_000d;
+         System.out.print((threads == 0 ? "serial" : String.valueOf(threads)) + "\t");
+         System.out.printf("%4.3f", count / elapsedTime);
+         System.out.println(words == expected ? "" : "\tMISMATCH");
+         if (pool != null) {
+            pool.shutdown();
+         }
+      }
+   }
+
+   /** Solves every board, returning the total number of words found. */
+   private static int solve(Boggle game, String[][] boards) {
+      int words = 0;
+      for (String[] board : boards) {
+         game.setBoard(board);
+         SortedSet<String> found = game.getAllValidWords(3);
+         words += found.size();
+      }
+      return words;
+   }
+}
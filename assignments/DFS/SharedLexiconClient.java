@@ -0,0 +1,49 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * SharedLexiconClient.java
+ * Creates many games at once on a pool of threads, each loading the same
+ * word file, and reports how many times the file was actually loaded, the
+ * memory the shared lexicons take, and the time taken.
+ *
+ * Usage: java SharedLexiconClient [wordfile] [games] [threads]
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class SharedLexiconClient {
+
+   /** Drives execution. */
+   public static void main(String[] args) throws Exception {
+      final String fileName = args.length > 0 ? args[0] : "wordfiles/OWL.txt";
+      int games = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+      int threads = args.length > 2 ? Integer.parseInt(args[2]) : 8;
+   
+      ExecutorService pool = Executors.newFixedThreadPool(threads);
+      List<Future<Integer>> results = new ArrayList<>();
+      double start = System.nanoTime();
+      for (int i = 0; i < games; i++) {
+         results.add(pool.submit(() -> {
+            WordSearchGame game = WordSearchGameFactory.createGame();
+            game.loadLexicon(fileName);
+            game.setBoard(new String[]{"E", "E", "C", "A", "A", "L", "E", "P",
+                                       "H", "N", "B", "O", "Q", "T", "T", "Y"});
+            return game.getAllValidWords(6).size();
+         }));
+      }
+      int words = 0;
+      for (Future<Integer> result : results) {
+         words += result.get();
+      }
+      double elapsedTime = (System.nanoTime() - start) / 1_000_000d;
+      pool.shutdown();
+   
+      System.out.println("games\t" + games + "\twords\t" + words);
+      System.out.println(WordSearchGameFactory.getLexiconCache());
+      System.out.printf("elapsed (ms)\t%4.3f\n", elapsedTime);
+   }
+}
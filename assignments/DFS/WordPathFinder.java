@@ -0,0 +1,140 @@
+/**
+ * Finds a path on a Boggle board that spells one given word.
+ *
+ * The word is matched against the tiles a character at a time, so no String
+ * is built and the lexicon is never consulted. Before searching, the finder
+ * works back from the end of the word to mark which cells could start each
+ * remaining part of it: a cell is live at a position if its tile matches the
+ * word there and it either ends the word or has a neighbor live where its
+ * tile leaves off. Revisits are ignored, so a cell that is not live can never
+ * be on a path, and the search only steps onto live cells. A finder keeps
+ * these marks, its path and its visited bitmask between calls, growing them
+ * only when a larger board or longer word needs it.
+ *
+ * A WordPathFinder must not be used by two threads at once.
+ *
+ * @author Spencer Downey
+ * @version 11/20/2018
+ */
+public class WordPathFinder {
+
+   // Whether each cell is live at each position of the word, indexed by
+   // position * cells + cell.
+   private boolean[] live = new boolean[64];
+
+   // One bit per cell, set while the cell is on the path.
+   private long[] visited = new long[1];
+
+   // The cells of the path found, in order.
+   private int[] path = new int[16];
+
+   // The board and word being matched, for the duration of one call to find.
+   private String[] tiles;
+   private BoardAdjacency adjacency;
+   private String word;
+
+   /**
+    * Finds the first path that spells word, searching from the cells in
+    * row-major order and from each cell to its neighbors in the order of
+    * its BoardAdjacency. Letters are compared without regard to case.
+    *
+    * @param tiles the tiles of the board in row-major order
+    * @param side the number of cells on each side of the board
+    * @param word the word to find
+    * @return the number of cells on the path found, or 0 if there is none
+    */
+   public int find(String[] tiles, int side, String word) {
+      int cells = tiles.length;
+      int wordLength = word.length();
+      if (wordLength == 0) {
+         return 0;
+      }
+      if (live.length < wordLength * cells) {
+         live = new boolean[wordLength * cells];
+      }
+      if (path.length < wordLength) {
+         path = new int[wordLength];
+      }
+      int blocks = (cells + 63) >>> 6;
+      if (visited.length < blocks) {
+         visited = new long[blocks];
+      }
+      this.tiles = tiles;
+      this.adjacency = BoardAdjacency.forSide(side);
+      this.word = word;
+      markLive(cells);
+
+      int found = 0;
+      for (int cell = 0; cell < cells && found == 0; cell++) {
+         if (live[cell]) {
+            found = walk(cell, 0, 0);
+         }
+      }
+      this.tiles = null;
+      this.word = null;
+      return found;
+   }
+
+   /**
+    * Returns a cell of the path found by the last call to find.
+    *
+    * @param i the position of the cell on the path, counting from 0
+    * @return the cell at that position
+    */
+   public int cellAt(int i) {
+      return path[i];
+   }
+
+   /**
+    * Marks the cells live at each position of the word, from the last
+    * position back to the first.
+    */
+   private void markLive(int cells) {
+      int wordLength = word.length();
+      int[] offsets = adjacency.offsets;
+      int[] targets = adjacency.targets;
+      for (int pos = wordLength - 1; pos >= 0; pos--) {
+         for (int cell = 0; cell < cells; cell++) {
+            String tile = tiles[cell];
+            int next = pos + tile.length();
+            boolean isLive = false;
+            if (next > pos && next <= wordLength
+                && word.regionMatches(true, pos, tile, 0, tile.length())) {
+               isLive = next == wordLength;
+               for (int e = offsets[cell]; e < offsets[cell + 1] && !isLive; e++) {
+                  isLive = live[next * cells + targets[e]];
+               }
+            }
+            live[pos * cells + cell] = isLive;
+         }
+      }
+   }
+
+   /**
+    * Extends the path, depth cells long, by the given live cell, whose tile
+    * matches the word at pos. Returns the length of the path once it spells
+    * the whole word, or 0 if no path through the cell does.
+    */
+   private int walk(int cell, int pos, int depth) {
+      path[depth++] = cell;
+      pos += tiles[cell].length();
+      if (pos == word.length()) {
+         return depth;
+      }
+
+      int cells = tiles.length;
+      int found = 0;
+      visited[cell >>> 6] |= 1L << cell;
+      int[] targets = adjacency.targets;
+      for (int e = adjacency.offsets[cell];
+           e < adjacency.offsets[cell + 1] && found == 0; e++) {
+         int next = targets[e];
+         if (live[pos * cells + next]
+             && (visited[next >>> 6] & (1L << next)) == 0) {
+            found = walk(next, pos, depth);
+         }
+      }
+      visited[cell >>> 6] &= ~(1L << cell);
+      return found;
+   }
+}
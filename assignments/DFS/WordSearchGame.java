@@ -2,6 +2,8 @@
 import java.util.List;
 import java.util.Set;
 import java.util.SortedSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Defines the methods needed to play a word search game.
@@ -33,7 +35,23 @@ public interface WordSearchGame {
     *     square.
     */
    void setBoard(String[] letterArray);
-   
+
+   /**
+    * Changes the contents of one position of the game board, leaving the rest
+    * of the board as it is. Once getAllValidWords has been called for a board,
+    * the words it finds are kept up to date as positions are changed, so that
+    * finding the words again after a change re-examines only the words that
+    * could use the changed position.
+    *
+    * @param position The position to change, numbered in row-major order.
+    * @param tile The new contents of the position, which may be longer than
+    *     one character.
+    * @throws IllegalArgumentException if no board has been set, position is
+    *     not on the board, or tile is null.
+    * @throws IllegalStateException if loadLexicon has not been called.
+    */
+   void setTile(int position, String tile);
+
    /**
     * Creates a String representation of the board, suitable for printing to
     *   standard out. Note that this method can always be called since
@@ -69,6 +87,35 @@ public interface WordSearchGame {
    */  
    int getScoreForWords(SortedSet<String> words, int minimumWordLength);
    
+   /**
+    * Solves every board in the given stream on a pool of worker threads.
+    * Each board's words are reported by their numbers in the lexicon, with
+    * the board's score as computed by getScoreForWords, rather than as a
+    * set of Strings. The board set by setBoard is not changed.
+    *
+    * @param boards The boards to solve, each as an array like the one given
+    *     to setBoard.
+    * @param minimumWordLength The minimum allowed length for any word found.
+    * @param results Receives the result of each board as it is solved.
+    * @return the number of boards solved, boards per second, and the median
+    *     and 99th percentile time taken to solve a board.
+    * @throws IllegalArgumentException if minimumWordLength < 1, or if a board
+    *     is null or not square.
+    * @throws IllegalStateException if loadLexicon has not been called.
+    */
+   BoardBatch.Report solveBoards(Stream<String[]> boards, int minimumWordLength,
+                                 Consumer<BoardBatch.Result> results);
+   
+   /**
+    * Returns the word with the given number, as reported by solveBoards.
+    *
+    * @param wordId The number of a word in the lexicon.
+    * @return the word, in uppercase.
+    * @throws IllegalArgumentException if wordId is not the number of a word.
+    * @throws IllegalStateException if loadLexicon has not been called.
+    */
+   String getWord(int wordId);
+   
    /**
     * Determines if the given word is in the lexicon.
     * 
@@ -2,19 +2,35 @@
 /**
  * Provides a factory method for creating word search games. 
  *
+ * Every game the factory creates shares the factory's lexicon cache, so a
+ * word file loaded by any number of games is read and parsed only once, and
+ * all of those games use the same immutable lexicon.
+ *
  * @author Spencer Downey (swd0008@auburn.edu)
  * @author Dean Hendrix (dh@auburn.edu)
  * @version TODAY
  */
 public class WordSearchGameFactory {
 
+   // The lexicons shared by every game created here.
+   private static final LexiconCache LEXICONS = new LexiconCache();
+
    /**
     * Returns an instance of a class that implements the WordSearchGame
     * interface.
     */
    public static WordSearchGame createGame() {
-      Boggle boggle = new Boggle();
+      Boggle boggle = new Boggle(LEXICONS);
       return boggle;
    }
 
+   /**
+    * Returns the lexicon cache shared by the games created here, which
+    * reports how many lexicons it holds, the memory they take, and how often
+    * a load was answered from the cache.
+    */
+   public static LexiconCache getLexiconCache() {
+      return LEXICONS;
+   }
+
 }